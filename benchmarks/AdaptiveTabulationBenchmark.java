@@ -0,0 +1,87 @@
+package benchmarks;
+
+import functions.*;
+import functions.basic.*;
+
+// Сравнение TabulatedFunctions.tabulateAdaptive с равномерным табулированием:
+// сколько точек нужно равномерной сетке, чтобы достичь той же наибольшей погрешности,
+// и сколько стоит поиск значения в каждой из таблиц.
+// Запуск: java benchmarks.AdaptiveTabulationBenchmark [допустимая погрешность]
+public class AdaptiveTabulationBenchmark {
+
+    private static final int CHECK_POINTS = 200_000;
+    private static final int LOOKUPS = 5_000_000;
+
+    private static double sink;
+
+    // Наибольшее отклонение таблицы от функции на частой равномерной сетке
+    private static double maxError(TabulatedFunction table, Function function, double leftX, double rightX) {
+        double max = 0;
+        for (int i = 0; i <= CHECK_POINTS; i++) {
+            double x = leftX + (rightX - leftX) * i / CHECK_POINTS;
+            max = Math.max(max, Math.abs(table.getFunctionValue(x) - function.getFunctionValue(x)));
+        }
+        return max;
+    }
+
+    // Наименьшее число равномерных точек с погрешностью не больше error (двоичный поиск)
+    private static int uniformPointsFor(double error, Function function, double leftX, double rightX) {
+        int low = 2;
+        int high = 1 << 23;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            TabulatedFunction table = TabulatedFunctions.tabulate(function, leftX, rightX, middle);
+            if (maxError(table, function, leftX, rightX) <= error) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+            // Точности в 1% достаточно
+            if (high - low < high / 100) {
+                break;
+            }
+        }
+        return high;
+    }
+
+    private static double lookupNanos(TabulatedFunction table, double leftX, double rightX) {
+        double step = (rightX - leftX) / LOOKUPS;
+        long start = System.nanoTime();
+        double sum = 0;
+        // Псевдослучайный порядок аргументов, чтобы не помогал кэш процессора
+        for (int i = 0; i < LOOKUPS; i++) {
+            sum += table.getFunctionValue(leftX + ((i * 7919L) % LOOKUPS) * step);
+        }
+        sink += sum;
+        return (double) (System.nanoTime() - start) / LOOKUPS;
+    }
+
+    private static void run(String title, Function function, double leftX, double rightX, double error) {
+        long start = System.nanoTime();
+        TabulatedFunction adaptive = TabulatedFunctions.tabulateAdaptive(function, leftX, rightX, error);
+        double adaptiveMs = (System.nanoTime() - start) / 1e6;
+
+        double achieved = maxError(adaptive, function, leftX, rightX);
+        int uniformPoints = uniformPointsFor(achieved, function, leftX, rightX);
+        TabulatedFunction uniform = TabulatedFunctions.tabulate(function, leftX, rightX, uniformPoints);
+
+        lookupNanos(adaptive, leftX, rightX);
+        lookupNanos(uniform, leftX, rightX);
+        System.out.printf("%-22s %10.2g %10d %10d %10.1f %10.1f %10.1f%n", title, achieved,
+                adaptive.getPointsCount(), uniformPoints, adaptiveMs,
+                lookupNanos(adaptive, leftX, rightX), lookupNanos(uniform, leftX, rightX));
+    }
+
+    public static void main(String[] args) {
+        double error = args.length > 0 ? Double.parseDouble(args[0]) : 1e-5;
+
+        System.out.println("Допустимая погрешность: " + error);
+        System.out.printf("%-22s %10s %10s %10s %10s %10s %10s%n", "функция", "погрешн.",
+                "адаптивн.", "равномерн.", "время, мс", "нс/поиск", "нс/поиск");
+        run("sin [0; 10]", new Sin(), 0, 10, error);
+        run("exp [0; 5]", new Exp(), 0, 5, error);
+        run("tan [-1.5; 1.5]", new Tan(), -1.5, 1.5, error);
+        run("ln [0.001; 10]", new Log(Math.E), 0.001, 10, error);
+        System.out.println("(контрольная сумма " + sink + ")");
+    }
+}
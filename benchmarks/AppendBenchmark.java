@@ -0,0 +1,50 @@
+package benchmarks;
+
+import functions.*;
+
+// Потоковое добавление точек в конец ArrayTabulatedFunction.
+// С запасом емкости добавление стоит O(1) амортизированно; для сравнения то же
+// делается с DoubleArrayTabulatedFunction, которая перевыделяет массивы на каждую точку
+// (O(n^2) в сумме), поэтому для нее число точек ограничено.
+// Запуск: java benchmarks.AppendBenchmark [кол-во точек] [кол-во точек для сравнения]
+public class AppendBenchmark {
+
+    private static double append(TabulatedFunction function, int pointsCount) throws InappropriateFunctionPointException {
+        long start = System.nanoTime();
+        for (int i = 2; i < pointsCount; i++) {
+            function.addPoint(new FunctionPoint(i, Math.sin(i * 0.001)));
+        }
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static void report(String title, int pointsCount, double ms) {
+        System.out.printf("%-44s %12d %12.1f %12.1f%n", title, pointsCount, ms, ms * 1e6 / pointsCount);
+    }
+
+    public static void main(String[] args) throws InappropriateFunctionPointException {
+        int pointsCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int quadraticCount = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+
+        System.out.printf("%-44s %12s %12s %12s%n", "реализация", "точек", "время, мс", "нс/точку");
+
+        // Прогрев
+        append(new ArrayTabulatedFunction(0, 1, 2), 100_000);
+
+        ArrayTabulatedFunction grown = new ArrayTabulatedFunction(0, 1, 2);
+        report("ArrayTabulatedFunction", pointsCount, append(grown, pointsCount));
+        System.out.println("  емкость после добавления: " + grown.getCapacity());
+
+        ArrayTabulatedFunction reserved = new ArrayTabulatedFunction(0, 1, 2);
+        reserved.ensureCapacity(pointsCount);
+        report("ArrayTabulatedFunction + ensureCapacity", pointsCount, append(reserved, pointsCount));
+        reserved.trimToSize();
+        System.out.println("  емкость после trimToSize: " + reserved.getCapacity());
+        grown = null;
+        reserved = null;
+
+        ArrayTabulatedFunction small = new ArrayTabulatedFunction(0, 1, 2);
+        report("ArrayTabulatedFunction", quadraticCount, append(small, quadraticCount));
+        DoubleArrayTabulatedFunction copying = new DoubleArrayTabulatedFunction(0, 1, 2);
+        report("DoubleArrayTabulatedFunction (копирование)", quadraticCount, append(copying, quadraticCount));
+    }
+}
@@ -0,0 +1,106 @@
+package benchmarks;
+
+import functions.*;
+
+// Сравнение поиска интервала в ArrayTabulatedFunction.getFunctionValue
+// с прежним последовательным просмотром всех интервалов.
+// Запуск: java -Xmx4g benchmarks.ArrayLookupBenchmark [кол-во точек ...]
+public class ArrayLookupBenchmark {
+
+    private static final int[] DEFAULT_SIZES = {10, 1_000, 100_000, 10_000_000};
+
+    // Суммируем результаты, чтобы JIT не выбросил вычисления
+    private static double sink;
+
+    // Прежний алгоритм: последовательный просмотр интервалов
+    static double linearScan(TabulatedFunction f, double x) {
+        int count = f.getPointsCount();
+        if (x < f.getPointX(0) || x > f.getPointX(count - 1)) {
+            return Double.NaN;
+        }
+        for (int i = 0; i < count - 1; i++) {
+            double x1 = f.getPointX(i);
+            double x2 = f.getPointX(i + 1);
+            if (x1 <= x && x2 >= x) {
+                if (ArrayTabulatedFunction.compareDouble(x, x1)) {
+                    return f.getPointY(i);
+                }
+                if (ArrayTabulatedFunction.compareDouble(x, x2)) {
+                    return f.getPointY(i + 1);
+                }
+                double y1 = f.getPointY(i);
+                double y2 = f.getPointY(i + 1);
+                return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+            }
+        }
+        return Double.NaN;
+    }
+
+    // Возвращает среднее время одного вызова в наносекундах
+    private static double measureLookup(TabulatedFunction f, double[] xs, boolean scan) {
+        long start = System.nanoTime();
+        double sum = 0;
+        for (double x : xs) {
+            sum += scan ? linearScan(f, x) : f.getFunctionValue(x);
+        }
+        long elapsed = System.nanoTime() - start;
+        sink += sum;
+        return (double) elapsed / xs.length;
+    }
+
+    private static double[] randomQueries(double left, double right, int count, long seed) {
+        java.util.Random random = new java.util.Random(seed);
+        double[] xs = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = left + (right - left) * random.nextDouble();
+        }
+        return xs;
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.printf("%12s %16s %16s %16s%n", "точек", "скан, нс", "равномерная, нс", "бинарный, нс");
+        for (int size : sizes) {
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = Math.sin(i * 0.001);
+            }
+            // Равномерная сетка - прямое вычисление индекса
+            TabulatedFunction uniform = new ArrayTabulatedFunction(0, size, values);
+
+            // Та же сетка, но построенная по точкам - бинарный поиск
+            FunctionPoint[] points = new FunctionPoint[size];
+            for (int i = 0; i < size; i++) {
+                points[i] = new FunctionPoint(uniform.getPointX(i), values[i]);
+            }
+            TabulatedFunction sorted = new ArrayTabulatedFunction(points);
+            points = null;
+
+            // Для скана число запросов ограничиваем, чтобы замер не длился часами
+            int scanQueries = (int) Math.max(20, Math.min(200_000, 2_000_000_000L / size / 10));
+            double[] scanXs = randomQueries(0, size, scanQueries, 1);
+            double[] xs = randomQueries(0, size, 2_000_000, 2);
+
+            // Прогрев
+            for (int r = 0; r < 3; r++) {
+                measureLookup(uniform, scanXs, true);
+                measureLookup(uniform, xs, false);
+                measureLookup(sorted, xs, false);
+            }
+
+            double scanTime = measureLookup(uniform, scanXs, true);
+            double uniformTime = measureLookup(uniform, xs, false);
+            double binaryTime = measureLookup(sorted, xs, false);
+
+            System.out.printf("%12d %16.1f %16.1f %16.1f%n", size, scanTime, uniformTime, binaryTime);
+        }
+        System.out.println("(контрольная сумма " + sink + ")");
+    }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import functions.*;
+
+import java.util.Random;
+
+// Сжатие табулированной функции, похожей на показания датчика (участки постоянного уровня
+// и синусоиды с небольшим шумом), методом TabulatedCompaction.compact при разных допустимых
+// погрешностях: сколько точек остается, фактическая погрешность, время сжатия и время поиска
+// значения до и после. В конце - время прореживания LTTB до 1000 точек.
+// Запуск: java benchmarks.CompactionBenchmark [кол-во точек]
+public class CompactionBenchmark {
+
+    private static final int LOOKUPS = 1_000_000;
+
+    private static double sink;
+
+    private static double lookupNanos(TabulatedFunction function, double[] xs) {
+        long start = System.nanoTime();
+        double sum = 0;
+        // Псевдослучайный порядок аргументов
+        for (int i = 0; i < LOOKUPS; i++) {
+            sum += function.getFunctionValue(xs[(int) ((i * 7919L) % xs.length)]);
+        }
+        sink += sum;
+        return (double) (System.nanoTime() - start) / LOOKUPS;
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        Random random = new Random(1);
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            // Неравномерные моменты измерений
+            xs[i] = i * 0.01 + random.nextDouble() * 0.005;
+            double signal = (i / 5000) % 2 == 0 ? 1 : Math.sin(xs[i]);
+            ys[i] = signal + random.nextGaussian() * 1e-4;
+        }
+
+        System.out.printf("%-10s %10s %14s %12s %14s %14s%n", "допуск", "осталось", "погрешность", "сжатие, мс",
+                "поиск до, нс", "поиск после, нс");
+        for (double maxError = 1e-4; maxError <= 1e-1; maxError *= 10) {
+            ArrayTabulatedFunction function = new ArrayTabulatedFunction(xs, ys);
+            double before = lookupNanos(function, xs);
+
+            long start = System.nanoTime();
+            CompactionResult result = TabulatedCompaction.compact(function, maxError);
+            double millis = (System.nanoTime() - start) / 1e6;
+
+            double after = lookupNanos(function, xs);
+            System.out.printf("%-10.0e %10d %14.2e %12.1f %14.1f %14.1f%n", maxError, result.getPointsAfter(),
+                    result.getMaxError(), millis, before, after);
+        }
+
+        ArrayTabulatedFunction function = new ArrayTabulatedFunction(xs, ys);
+        long start = System.nanoTime();
+        ArrayTabulatedFunction sampled = TabulatedCompaction.downsample(function, 1000);
+        System.out.printf("LTTB до %d точек: %.1f мс%n", sampled.getPointsCount(), (System.nanoTime() - start) / 1e6);
+
+        System.out.println("(контрольная сумма " + sink + ")");
+    }
+}
@@ -0,0 +1,112 @@
+package benchmarks;
+
+import functions.*;
+import functions.basic.*;
+
+// Задержка одного вызова дерева functions.meta и скомпилированной из него функции
+// и память, выделяемая скомпилированной функцией на один вызов по одной точке.
+// Многочлены по схеме Горнера из дешевых узлов показывают накладные расходы самой программы:
+// степени 2 хватает стека в локальных переменных, степени 8 - нет.
+// Запуск: java benchmarks.CompiledFunctionBenchmark [кол-во вызовов]
+public class CompiledFunctionBenchmark {
+
+    private static double sink;
+
+    // Дерево из вложенных сдвигов, масштабов, сумм, произведений и композиций
+    private static Function tree() {
+        Function inner = Functions.sum(
+                Functions.mult(new Sin(), new Cos()),
+                Functions.power(Functions.shift(new Exp(), 0.5, 1), 2));
+        Function affine = inner;
+        for (int i = 0; i < 4; i++) {
+            affine = Functions.shift(Functions.scale(affine, 1.1, 0.9), 0.01, -0.02);
+        }
+        Function withLog = Functions.composition(
+                Functions.power(affine, 2),
+                Functions.shift(new Log(10), -1, 0));
+        return Functions.sum(withLog, Functions.mult(Functions.power(new Sin(), 0), affine));
+    }
+
+    // Многочлен 1 + x * (2 + x * (3 + ...)) степени degree; вложение во второй множитель
+    // увеличивает глубину стека программы на каждом уровне
+    private static Function horner(int degree) {
+        Function p = new Constant(degree + 1);
+        for (int k = degree; k >= 1; k--) {
+            p = Functions.sum(new Constant(k), Functions.mult(new Identity(), p));
+        }
+        return p;
+    }
+
+    // Байтов, выделенных текущим потоком на один вызов getFunctionValue
+    private static double allocatedBytes(Function f, double[] xs) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        double sum = 0;
+        for (double x : xs) {
+            sum += f.getFunctionValue(x);
+        }
+        sink += sum;
+        return (double) (threads.getCurrentThreadAllocatedBytes() - before) / xs.length;
+    }
+
+    private static void report(String title, Function interpreted, double[] xs, double[] values) {
+        CompiledFunction compiled = new CompiledFunction(interpreted);
+
+        // Расхождение с деревом (ожидается 0: команды повторяют действия узлов)
+        double maxError = 0;
+        for (int i = 0; i < Math.min(xs.length, 100_000); i++) {
+            double expected = interpreted.getFunctionValue(xs[i]);
+            double actual = compiled.getFunctionValue(xs[i]);
+            maxError = Math.max(maxError, Math.abs(expected - actual) / Math.max(1, Math.abs(expected)));
+        }
+
+        for (int r = 0; r < 3; r++) {
+            scalar(interpreted, xs);
+            scalar(compiled, xs);
+            batch(interpreted, xs, values);
+            batch(compiled, xs, values);
+        }
+
+        System.out.println(title + ", команд в скомпилированной программе: " + compiled.getProgramLength());
+        System.out.printf("  Дерево, по одной точке:      %8.1f нс%n", scalar(interpreted, xs));
+        System.out.printf("  Программа, по одной точке:   %8.1f нс, %.1f байт на вызов%n", scalar(compiled, xs),
+                allocatedBytes(compiled, xs));
+        System.out.printf("  Дерево, массив точек:        %8.1f нс%n", batch(interpreted, xs, values));
+        System.out.printf("  Программа, массив точек:     %8.1f нс%n", batch(compiled, xs, values));
+        System.out.printf("  Макс. относительное расхождение: %.3e%n", maxError);
+    }
+
+    private static double scalar(Function f, double[] xs) {
+        long start = System.nanoTime();
+        double sum = 0;
+        for (double x : xs) {
+            sum += f.getFunctionValue(x);
+        }
+        sink += sum;
+        return (double) (System.nanoTime() - start) / xs.length;
+    }
+
+    private static double batch(Function f, double[] xs, double[] values) {
+        long start = System.nanoTime();
+        f.getFunctionValues(xs, values);
+        sink += values[values.length / 2];
+        return (double) (System.nanoTime() - start) / xs.length;
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        java.util.Random random = new java.util.Random(1);
+        double[] xs = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = random.nextDouble() * 2;
+        }
+        double[] values = new double[count];
+
+        report("Дерево из сдвигов, сумм и композиций", tree(), xs, values);
+        report("Многочлен степени 2", horner(2), xs, values);
+        report("Многочлен степени 8", horner(8), xs, values);
+        System.out.println("(контрольная сумма " + sink + ")");
+    }
+}
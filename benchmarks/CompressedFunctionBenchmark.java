@@ -0,0 +1,113 @@
+package benchmarks;
+
+import functions.*;
+
+import java.util.Random;
+
+// Сжатое хранение табулированной функции (CompressedTabulatedFunction) в сравнении
+// с ArrayTabulatedFunction: размер данных, поиск значения в случайной точке
+// (декодируется начало одного блока) и пакетное вычисление по возрастающим аргументам.
+// Размер ArrayTabulatedFunction оценивается как 36 байт на точку: ссылка (4 байта при сжатых
+// указателях) и объект FunctionPoint (заголовок и два double, 32 байта с выравниванием).
+// Запуск: java benchmarks.CompressedFunctionBenchmark [кол-во точек]
+public class CompressedFunctionBenchmark {
+
+    private static final int LOOKUPS = 1_000_000;
+    private static final int ARRAY_BYTES_PER_POINT = 36;
+
+    private static double sink;
+
+    private static double lookupNanos(TabulatedFunction function, double[] queries) {
+        double best = Double.MAX_VALUE;
+        for (int r = 0; r < 5; r++) {
+            long start = System.nanoTime();
+            double sum = 0;
+            for (double x : queries) {
+                sum += function.getFunctionValue(x);
+            }
+            sink += sum;
+            best = Math.min(best, (double) (System.nanoTime() - start) / queries.length);
+        }
+        return best;
+    }
+
+    private static double batchNanos(TabulatedFunction function, double[] sorted) {
+        double[] values = new double[sorted.length];
+        double best = Double.MAX_VALUE;
+        for (int r = 0; r < 5; r++) {
+            long start = System.nanoTime();
+            function.getFunctionValues(sorted, values);
+            best = Math.min(best, (double) (System.nanoTime() - start) / sorted.length);
+            sink += values[values.length / 2];
+        }
+        return best;
+    }
+
+    private static void report(String title, double[] xs, double[] ys) {
+        ArrayTabulatedFunction array = new ArrayTabulatedFunction(xs, ys);
+        long start = System.nanoTime();
+        CompressedTabulatedFunction compressed = TabulatedFunctions.compress(array);
+        double buildMillis = (System.nanoTime() - start) / 1e6;
+
+        Random random = new Random(2);
+        double left = array.getLeftDomainBorder();
+        double right = array.getRightDomainBorder();
+        double[] queries = new double[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            queries[i] = left + (right - left) * random.nextDouble();
+        }
+        double[] sorted = new double[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            sorted[i] = left + (right - left) * i / (LOOKUPS - 1);
+        }
+
+        double bytesPerPoint = (double) compressed.getCompressedSize() / xs.length;
+        System.out.printf("%-22s %9.2f %8.2fx %8.2fx %9.1f %9.1f %9.1f %9.1f %9.1f%n", title, bytesPerPoint,
+                compressed.getCompressionRatio(), ARRAY_BYTES_PER_POINT / bytesPerPoint, buildMillis,
+                lookupNanos(array, queries), lookupNanos(compressed, queries),
+                batchNanos(array, sorted), batchNanos(compressed, sorted));
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        System.out.printf("%-22s %9s %9s %9s %9s %9s %9s %9s %9s%n", "данные", "байт/тчк", "к double",
+                "к Array", "сжатие,мс", "Array,нс", "сжат.,нс", "Array пак", "сжат. пак");
+
+        Random random = new Random(1);
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        double step = 100.0 / (count - 1);
+
+        // Гладкая функция на равномерной сетке
+        for (int i = 0; i < count; i++) {
+            xs[i] = step * i;
+            ys[i] = Math.sin(xs[i]) * Math.exp(-xs[i] / 50);
+        }
+        report("sin, равномерная", xs, ys);
+
+        // Показания датчика с шагом квантования 0.01 и участками постоянного уровня
+        for (int i = 0; i < count; i++) {
+            xs[i] = step * i;
+            double signal = (i / 5000) % 2 == 0 ? 20 : 20 + 5 * Math.sin(xs[i]);
+            ys[i] = Math.round(signal * 100) / 100.0;
+        }
+        report("датчик, равномерная", xs, ys);
+
+        // Неравномерные моменты измерений
+        for (int i = 0; i < count; i++) {
+            xs[i] = step * i + random.nextDouble() * step / 2;
+            ys[i] = Math.round((20 + 5 * Math.sin(xs[i])) * 100) / 100.0;
+        }
+        report("датчик, неравномерная", xs, ys);
+
+        // Шум во всех разрядах - худший случай для XOR-кодирования
+        for (int i = 0; i < count; i++) {
+            xs[i] = step * i;
+            ys[i] = random.nextGaussian();
+        }
+        report("шум, равномерная", xs, ys);
+
+        System.out.println("(контрольная сумма " + sink + ")");
+    }
+}
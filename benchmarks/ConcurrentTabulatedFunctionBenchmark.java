@@ -0,0 +1,106 @@
+package benchmarks;
+
+import functions.*;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Нагрузочная проверка и пропускная способность ConcurrentTabulatedFunction:
+// один писатель непрерывно меняет точки, несколько читателей интерполируют.
+// Читатели проверяют, что внутри области определения значение всегда
+// лежит в диапазоне ординат [0; 1] и никогда не бывает NaN или исключения.
+// Запуск: java benchmarks.ConcurrentTabulatedFunctionBenchmark [кол-во точек] [секунд на замер]
+public class ConcurrentTabulatedFunctionBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int pointsCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 2;
+        int maxReaders = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+        System.out.println("Точек: " + pointsCount);
+        System.out.printf("%10s %16s %16s %10s%n", "читателей", "чтений/с", "изменений/с", "ошибок");
+        for (int readers = 1; readers <= maxReaders; readers *= 2) {
+            run(pointsCount, readers, seconds);
+        }
+    }
+
+    private static void run(int pointsCount, int readers, double seconds) throws InterruptedException {
+        double[] values = new double[pointsCount];
+        Random init = new Random(1);
+        for (int i = 0; i < pointsCount; i++) {
+            values[i] = init.nextDouble();
+        }
+        ConcurrentTabulatedFunction function = new ConcurrentTabulatedFunction(0, 1, values);
+
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(readers + 1);
+
+        // Писатель: меняет ординаты, добавляет и удаляет внутренние точки, не трогая границы
+        Thread writer = new Thread(() -> {
+            Random random = new Random(2);
+            long count = 0;
+            while (!stop.get()) {
+                try {
+                    int n = function.getPointsCount();
+                    switch (random.nextInt(3)) {
+                        case 0:
+                            function.setPointY(random.nextInt(n), random.nextDouble());
+                            break;
+                        case 1:
+                            function.addPoint(new FunctionPoint(0.001 + 0.998 * random.nextDouble(), random.nextDouble()));
+                            break;
+                        default:
+                            if (n > 3) {
+                                function.deletePoint(1 + random.nextInt(n - 2));
+                            }
+                            break;
+                    }
+                    count++;
+                } catch (InappropriateFunctionPointException e) {
+                    // совпадение X с существующей точкой - допустимо
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                }
+            }
+            writes.addAndGet(count);
+            done.countDown();
+        });
+
+        Thread[] readerThreads = new Thread[readers];
+        for (int r = 0; r < readers; r++) {
+            long seed = 10 + r;
+            readerThreads[r] = new Thread(() -> {
+                Random random = new Random(seed);
+                long count = 0;
+                while (!stop.get()) {
+                    try {
+                        double value = function.getFunctionValue(random.nextDouble());
+                        if (!(value >= 0 && value <= 1)) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                    }
+                    count++;
+                }
+                reads.addAndGet(count);
+                done.countDown();
+            });
+        }
+
+        writer.start();
+        for (Thread thread : readerThreads) {
+            thread.start();
+        }
+        Thread.sleep((long) (seconds * 1000));
+        stop.set(true);
+        done.await();
+
+        System.out.printf("%10d %16.0f %16.0f %10d%n", readers, reads.get() / seconds, writes.get() / seconds, errors.get());
+    }
+}
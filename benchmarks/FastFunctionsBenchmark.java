@@ -0,0 +1,128 @@
+package benchmarks;
+
+import functions.Function;
+import functions.basic.*;
+
+import java.util.Random;
+
+// Точность и пропускная способность быстрых функций functions.basic в сравнении
+// с StrictMath и обычными функциями (Math): наибольшая погрешность в ulp относительно
+// StrictMath и миллионов значений в секунду при пакетном вычислении getFunctionValues.
+// Запуск: java benchmarks.FastFunctionsBenchmark [кол-во аргументов]
+public class FastFunctionsBenchmark {
+
+    private static final int ROUNDS = 25;
+
+    private static double sink;
+
+    private interface Kernel {
+        double apply(double x);
+    }
+
+    private static double[] arguments(int count, double left, double right, long seed) {
+        Random random = new Random(seed);
+        double[] xs = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = left + (right - left) * random.nextDouble();
+        }
+        return xs;
+    }
+
+    // Погрешность в единицах последнего разряда точного значения
+    private static double ulps(double value, double exact) {
+        if (value == exact || Double.isNaN(value) && Double.isNaN(exact)) {
+            return 0;
+        }
+        return Math.abs(value - exact) / Math.ulp(exact);
+    }
+
+    private static double maxError(Function fast, Kernel strict, double[] xs, double[] values) {
+        fast.getFunctionValues(xs, values);
+        double max = 0;
+        for (int i = 0; i < xs.length; i++) {
+            max = Math.max(max, ulps(values[i], strict.apply(xs[i])));
+        }
+        return max;
+    }
+
+    // Лучшее из нескольких повторений, млн значений/с
+    private static double throughput(Function function, double[] xs, double[] values) {
+        double best = 0;
+        for (int r = 0; r < ROUNDS; r++) {
+            long start = System.nanoTime();
+            function.getFunctionValues(xs, values);
+            long elapsed = System.nanoTime() - start;
+            sink += values[values.length / 2];
+            best = Math.max(best, xs.length / (elapsed / 1e3));
+        }
+        return best;
+    }
+
+    private static double throughput(Kernel kernel, double[] xs, double[] values) {
+        double best = 0;
+        for (int r = 0; r < ROUNDS; r++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < xs.length; i++) {
+                values[i] = kernel.apply(xs[i]);
+            }
+            long elapsed = System.nanoTime() - start;
+            sink += values[values.length / 2];
+            best = Math.max(best, xs.length / (elapsed / 1e3));
+        }
+        return best;
+    }
+
+    private static void run(String title, Kernel strict, Function plain, Function fast, double[] xs) {
+        double[] values = new double[xs.length];
+        double error = maxError(fast, strict, xs, values);
+        double strictRate = throughput(strict, xs, values);
+        double plainRate = throughput(plain, xs, values);
+        double fastRate = throughput(fast, xs, values);
+        System.out.printf("%-22s %8.1f %12.1f %12.1f %12.1f %8.2fx%n", title, error,
+                strictRate, plainRate, fastRate, fastRate / plainRate);
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 20;
+
+        System.out.printf("%-22s %8s %12s %12s %12s %9s%n", "функция", "ulp",
+                "StrictMath", "Math", "Fast", "ускорение");
+
+        double[] trig = arguments(count, -10, 10, 1);
+        double[] wide = arguments(count, -1e5, 1e5, 2);
+        run("sin [-10; 10]", StrictMath::sin, new Sin(), new FastSin(), trig);
+        run("sin [-1e5; 1e5]", StrictMath::sin, new Sin(), new FastSin(), wide);
+        run("cos [-10; 10]", StrictMath::cos, new Cos(), new FastCos(), trig);
+        run("tan [-10; 10]", StrictMath::tan, new Tan(), new FastTan(), trig);
+        run("exp [-708; 708]", StrictMath::exp, new Exp(), new FastExp(), arguments(count, -708, 708, 3));
+        run("exp [-1; 1]", StrictMath::exp, new Exp(), new FastExp(), arguments(count, -1, 1, 4));
+        run("ln (0; 1e6]", StrictMath::log, new Log(Math.E), new FastLog(Math.E), arguments(count, 0, 1e6, 5));
+        run("ln [0.5; 2]", StrictMath::log, new Log(Math.E), new FastLog(Math.E), arguments(count, 0.5, 2, 6));
+        run("log10 (0; 1e6]", StrictMath::log10, new Log(10), new FastLog(10), arguments(count, 0, 1e6, 7));
+
+        // Синус и косинус вместе: два вызова Math против одного сведения аргумента
+        double[] sines = new double[count];
+        double[] cosines = new double[count];
+        double separate = 0;
+        double combined = 0;
+        for (int r = 0; r < ROUNDS; r++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                sines[i] = Math.sin(trig[i]);
+                cosines[i] = Math.cos(trig[i]);
+            }
+            long elapsed = System.nanoTime() - start;
+            separate = Math.max(separate, count / (elapsed / 1e3));
+
+            start = System.nanoTime();
+            SinCos.evaluate(trig, sines, cosines);
+            elapsed = System.nanoTime() - start;
+            combined = Math.max(combined, count / (elapsed / 1e3));
+            sink += sines[count / 2] + cosines[count / 2];
+        }
+        System.out.printf("%-22s %8s %12s %12.1f %12.1f %8.2fx%n", "sin + cos [-10; 10]", "",
+                "", separate, combined, combined / separate);
+
+        System.out.println("(контрольная сумма " + sink + ")");
+    }
+}
@@ -0,0 +1,93 @@
+package benchmarks;
+
+import functions.*;
+import functions.basic.*;
+import functions.integration.*;
+
+import java.util.Random;
+
+// Интегрирование табулированных и обычных функций пакетом functions.integration.
+// Табулированные: интеграл по случайным отрезкам циклом getFunctionValue по мелкой сетке
+// в сравнении с TabulatedIntegral. Обычные: точность и количество вычислений функции
+// адаптивных методов Симпсона и Гаусса - Кронрода при разных допустимых погрешностях.
+// Запуск: java benchmarks.IntegrationBenchmark [кол-во точек таблицы]
+public class IntegrationBenchmark {
+
+    private static final int QUERIES = 10_000;
+
+    // Шагов сетки в цикле getFunctionValue на один отрезок
+    private static final int LOOP_STEPS = 1000;
+
+    private static double sink;
+
+    private static void tabulated(int pointsCount) {
+        TabulatedFunction table = TabulatedFunctions.tabulate(new Sin(), 0, 100, pointsCount);
+
+        Random random = new Random(1);
+        double[] lefts = new double[QUERIES];
+        double[] rights = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            double a = 100 * random.nextDouble();
+            double b = 100 * random.nextDouble();
+            lefts[i] = Math.min(a, b);
+            rights[i] = Math.max(a, b);
+        }
+
+        long start = System.nanoTime();
+        double sum = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            double step = (rights[i] - lefts[i]) / LOOP_STEPS;
+            double integral = 0;
+            for (int k = 0; k < LOOP_STEPS; k++) {
+                double x = lefts[i] + k * step;
+                integral += step * (table.getFunctionValue(x) + table.getFunctionValue(x + step)) * 0.5;
+            }
+            sum += integral;
+        }
+        double loopNanos = (double) (System.nanoTime() - start) / QUERIES;
+        sink += sum;
+
+        start = System.nanoTime();
+        TabulatedIntegral index = new TabulatedIntegral(table);
+        double buildMillis = (System.nanoTime() - start) / 1e6;
+
+        start = System.nanoTime();
+        sum = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            sum += index.integrate(lefts[i], rights[i]);
+        }
+        double indexNanos = (double) (System.nanoTime() - start) / QUERIES;
+        sink += sum;
+
+        System.out.printf("Таблица из %d точек, %d отрезков%n", pointsCount, QUERIES);
+        System.out.printf("  цикл getFunctionValue (%d шагов): %12.1f нс на отрезок%n", LOOP_STEPS, loopNanos);
+        System.out.printf("  TabulatedIntegral:              %12.1f нс на отрезок (построение %.2f мс)%n",
+                indexNanos, buildMillis);
+        System.out.printf("  trapezoid по всей таблице:      %s%n", Integrals.trapezoid(table));
+    }
+
+    private static void adaptive(String title, Function function, double a, double b, double exact) {
+        System.out.println(title);
+        System.out.printf("  %-10s %-14s %12s %12s %12s%n", "допуск", "метод", "погрешность", "оценка", "вычислений");
+        for (double tolerance = 1e-4; tolerance >= 1e-12; tolerance *= 1e-4) {
+            IntegrationResult simpson = Integrals.simpson(function, a, b, tolerance);
+            IntegrationResult kronrod = Integrals.gaussKronrod(function, a, b, tolerance);
+            System.out.printf("  %-10.0e %-14s %12.2e %12.2e %12d%n", tolerance, "Симпсон",
+                    Math.abs(simpson.getValue() - exact), simpson.getErrorEstimate(), simpson.getEvaluations());
+            System.out.printf("  %-10.0e %-14s %12.2e %12.2e %12d%n", tolerance, "Гаусс-Кронрод",
+                    Math.abs(kronrod.getValue() - exact), kronrod.getErrorEstimate(), kronrod.getEvaluations());
+        }
+    }
+
+    public static void main(String[] args) {
+        int pointsCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_001;
+
+        tabulated(pointsCount);
+        adaptive("sin на [0; 100]", new Sin(), 0, 100, 1 - Math.cos(100));
+        adaptive("exp на [-1; 3]", new Exp(), -1, 3, Math.exp(3) - Math.exp(-1));
+        adaptive("ln на [0.001; 10]", new Log(Math.E), 0.001, 10,
+                10 * Math.log(10) - 10 - (0.001 * Math.log(0.001) - 0.001));
+
+        System.out.println("(контрольная сумма " + sink + ")");
+    }
+}
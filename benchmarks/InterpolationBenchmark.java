@@ -0,0 +1,99 @@
+package benchmarks;
+
+import functions.*;
+import functions.basic.*;
+
+import java.util.Random;
+
+// Точность и скорость способов интерполяции табулированной функции.
+// Для каждого способа - наибольшая погрешность таблицы из n равномерных точек
+// и время вычисления значения в случайной точке.
+// Запуск: java benchmarks.InterpolationBenchmark [кол-во вычислений]
+public class InterpolationBenchmark {
+
+    private static final int[] POINT_COUNTS = {16, 64, 256, 1024};
+    private static final int CHECK_POINTS = 100_000;
+
+    private static double sink;
+
+    // Функция Рунге 1 / (1 + 25x^2)
+    private static final class Runge implements Function {
+        public double getLeftDomainBorder() {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        public double getRightDomainBorder() {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        public double getFunctionValue(double x) {
+            return 1 / (1 + 25 * x * x);
+        }
+    }
+
+    private static TabulatedFunction table(Function function, double leftX, double rightX, int pointsCount,
+                                           Interpolation interpolation) {
+        TabulatedFunction table = TabulatedFunctions.tabulate(function, leftX, rightX, pointsCount);
+        table.setInterpolation(interpolation);
+        return table;
+    }
+
+    private static double maxError(TabulatedFunction table, Function function, double leftX, double rightX) {
+        double max = 0;
+        for (int i = 0; i <= CHECK_POINTS; i++) {
+            double x = leftX + (rightX - leftX) * i / CHECK_POINTS;
+            max = Math.max(max, Math.abs(table.getFunctionValue(x) - function.getFunctionValue(x)));
+        }
+        return max;
+    }
+
+    private static void accuracy(String title, Function function, double leftX, double rightX) {
+        System.out.println(title);
+        for (Interpolation interpolation : Interpolation.values()) {
+            System.out.printf("  %-22s", interpolation);
+            for (int pointsCount : POINT_COUNTS) {
+                TabulatedFunction table = table(function, leftX, rightX, pointsCount, interpolation);
+                System.out.printf(" %12.2e", maxError(table, function, leftX, rightX));
+            }
+            System.out.println();
+        }
+    }
+
+    private static double nanosPerValue(TabulatedFunction table, double[] xs) {
+        long start = System.nanoTime();
+        double sum = 0;
+        for (double x : xs) {
+            sum += table.getFunctionValue(x);
+        }
+        sink += sum;
+        return (double) (System.nanoTime() - start) / xs.length;
+    }
+
+    public static void main(String[] args) {
+        int evaluations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+
+        System.out.printf("Наибольшая погрешность при количестве точек %-8s", "");
+        for (int pointsCount : POINT_COUNTS) {
+            System.out.printf(" %12d", pointsCount);
+        }
+        System.out.println();
+        accuracy("sin на [0; 2pi]", new Sin(), 0, 2 * Math.PI);
+        accuracy("exp на [0; 3]", new Exp(), 0, 3);
+        // Функция Рунге - резкий пик, на котором кубические способы могут давать выбросы
+        accuracy("1 / (1 + 25x^2) на [-1; 1]", new Runge(), -1, 1);
+
+        // Скорость: таблица sin из 10000 точек, случайные аргументы
+        double[] xs = new double[evaluations];
+        Random random = new Random(1);
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextDouble() * 2 * Math.PI;
+        }
+        System.out.printf("%nВремя вычисления, нс (10000 точек, %d случайных аргументов)%n", evaluations);
+        for (Interpolation interpolation : Interpolation.values()) {
+            TabulatedFunction table = table(new Sin(), 0, 2 * Math.PI, 10_000, interpolation);
+            nanosPerValue(table, xs);
+            System.out.printf("  %-22s %8.1f%n", interpolation, nanosPerValue(table, xs));
+        }
+        System.out.println("(контрольная сумма " + sink + ")");
+    }
+}
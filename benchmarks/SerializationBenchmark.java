@@ -0,0 +1,102 @@
+package benchmarks;
+
+import functions.*;
+
+import java.io.*;
+
+// Размер и скорость сериализации табулированных функций (ObjectOutputStream в память).
+// "прежняя" - форма ArrayTabulatedFunction по умолчанию до введения SerialForm: граф из массива
+// ссылок и объекта FunctionPoint на каждую точку (воспроизводится классом LegacyForm с теми же
+// полями). Остальные строки - текущие формы: SerialForm с массивами double (абсциссы
+// равномерной сетки не записываются), Externalizable списка и сжатые данные
+// CompressedTabulatedFunction.
+// Запуск: java benchmarks.SerializationBenchmark
+public class SerializationBenchmark {
+
+    private static final int ROUNDS = 10;
+    private static final int[] SIZES = {1_000, 100_000, 1_000_000};
+
+    private static long sink;
+
+    // Поля прежней формы ArrayTabulatedFunction
+    private static final class LegacyForm implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final FunctionPoint[] points_arr;
+        private final int pointslength;
+
+        LegacyForm(TabulatedFunction function) {
+            pointslength = function.getPointsCount();
+            points_arr = new FunctionPoint[pointslength];
+            for (int i = 0; i < pointslength; i++) {
+                points_arr[i] = function.getPoint(i);
+            }
+        }
+    }
+
+    private static byte[] write(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object read(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+
+    private static void report(String title, int size, Object object) throws Exception {
+        byte[] data = write(object);
+        double writeBest = Double.MAX_VALUE;
+        double readBest = Double.MAX_VALUE;
+        for (int r = 0; r < ROUNDS; r++) {
+            long start = System.nanoTime();
+            sink += write(object).length;
+            writeBest = Math.min(writeBest, (System.nanoTime() - start) / 1e6);
+
+            start = System.nanoTime();
+            sink += read(data).hashCode();
+            readBest = Math.min(readBest, (System.nanoTime() - start) / 1e6);
+        }
+        System.out.printf("%-22s %9d %12d %10.2f %10.2f %10.2f%n", title, size, data.length,
+                (double) data.length / size, writeBest, readBest);
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%-22s %9s %12s %10s %10s %10s%n", "форма", "точек", "байт", "байт/тчк",
+                "запись,мс", "чтение,мс");
+
+        for (int size : SIZES) {
+            double[] ys = new double[size];
+            double[] xs = new double[size];
+            for (int i = 0; i < size; i++) {
+                xs[i] = i * 0.01 + (i % 7) * 1e-4;
+                ys[i] = Math.round(Math.sin(xs[i]) * 1000) / 1000.0;
+            }
+            ArrayTabulatedFunction uniform = new ArrayTabulatedFunction(0, 100, ys);
+            ArrayTabulatedFunction irregular = new ArrayTabulatedFunction(xs, ys);
+
+            report("прежняя", size, new LegacyForm(irregular));
+            report("Array", size, irregular);
+            report("Array, равномерная", size, uniform);
+            report("DoubleArray", size, new DoubleArrayTabulatedFunction(xs, ys));
+            report("Concurrent", size, new ConcurrentTabulatedFunction(irregular));
+            report("LinkedList", size, new LinkedListTabulatedFunction(pointsOf(irregular)));
+            report("Compressed", size, new CompressedTabulatedFunction(irregular));
+            System.out.println();
+        }
+
+        System.out.println("(контрольная сумма " + sink + ")");
+    }
+
+    private static FunctionPoint[] pointsOf(TabulatedFunction function) {
+        FunctionPoint[] points = new FunctionPoint[function.getPointsCount()];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = function.getPoint(i);
+        }
+        return points;
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import functions.*;
+import functions.basic.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+// Масштабируемость TabulatedFunctions.tabulateParallel по числу потоков от 1 до числа ядер.
+// Запуск: java benchmarks.TabulateScalingBenchmark [кол-во точек] [порог]
+public class TabulateScalingBenchmark {
+
+    // Дорогая составная функция: sin(x)^2 + cos(x)^2 + ln(exp(x))
+    private static Function expensiveFunction() {
+        Function sin2 = Functions.power(new Sin(), 2);
+        Function cos2 = Functions.power(new Cos(), 2);
+        Function logExp = Functions.composition(new Exp(), new Log(Math.E));
+        return Functions.sum(Functions.sum(sin2, cos2), logExp);
+    }
+
+    public static void main(String[] args) {
+        int pointsCount = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int threshold = args.length > 1 ? Integer.parseInt(args[1]) : TabulatedFunctions.DEFAULT_PARALLELISM_THRESHOLD;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        Function function = expensiveFunction();
+        double leftX = 0;
+        double rightX = 100;
+
+        // Эталон - последовательное табулирование
+        TabulatedFunction expected = TabulatedFunctions.tabulate(function, leftX, rightX, pointsCount);
+        long start = System.nanoTime();
+        expected = TabulatedFunctions.tabulate(function, leftX, rightX, pointsCount);
+        double sequentialMs = (System.nanoTime() - start) / 1e6;
+
+        System.out.println("Точек: " + pointsCount + ", порог: " + threshold + ", ядер: " + cores);
+        System.out.printf("%8s %12s %10s %12s%n", "потоков", "время, мс", "ускорение", "совпадает");
+        System.out.printf("%8s %12.1f %10.2f %12s%n", "посл.", sequentialMs, 1.0, "-");
+
+        // 1, 2, 4, ... потоков и в конце все ядра
+        for (int threads = 1; threads <= cores; threads = (threads * 2 > cores && threads < cores) ? cores : threads * 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                TabulatedFunction result = null;
+                // Прогрев
+                for (int r = 0; r < 2; r++) {
+                    result = TabulatedFunctions.tabulateParallel(function, leftX, rightX, pointsCount, threshold, pool);
+                }
+
+                start = System.nanoTime();
+                result = TabulatedFunctions.tabulateParallel(function, leftX, rightX, pointsCount, threshold, pool);
+                double ms = (System.nanoTime() - start) / 1e6;
+
+                System.out.printf("%8d %12.1f %10.2f %12s%n", threads, ms, sequentialMs / ms, identical(expected, result));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    // Побитовое совпадение всех точек
+    private static boolean identical(TabulatedFunction a, TabulatedFunction b) {
+        if (a.getPointsCount() != b.getPointsCount()) {
+            return false;
+        }
+        for (int i = 0; i < a.getPointsCount(); i++) {
+            if (Double.doubleToLongBits(a.getPointX(i)) != Double.doubleToLongBits(b.getPointX(i))
+                    || Double.doubleToLongBits(a.getPointY(i)) != Double.doubleToLongBits(b.getPointY(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
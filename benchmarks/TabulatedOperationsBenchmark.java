@@ -0,0 +1,82 @@
+package benchmarks;
+
+import functions.*;
+import functions.basic.*;
+
+// Сумма и композиция двух табулированных функций: повторное табулирование дерева
+// functions.meta (как fun4 в Main) в сравнении с TabulatedOperations, где абсциссы
+// сливаются одним проходом. Таблицы имеют разные сетки, количество точек результата
+// табулирования равно количеству точек объединенной сетки. Таблицы-массивы с равномерной
+// сеткой ищут точку за O(1), поэтому выигрыш заметнее на списочных таблицах.
+// Запуск: java benchmarks.TabulatedOperationsBenchmark
+public class TabulatedOperationsBenchmark {
+
+    private static final int ROUNDS = 50;
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+
+    private static double sink;
+
+    private interface Operation {
+        TabulatedFunction run();
+    }
+
+    // Лучшее время из нескольких повторений, мс
+    private static double millis(Operation operation) {
+        double best = Double.MAX_VALUE;
+        for (int r = 0; r < ROUNDS; r++) {
+            long start = System.nanoTime();
+            TabulatedFunction result = operation.run();
+            best = Math.min(best, (System.nanoTime() - start) / 1e6);
+            sink += result.getPointY(result.getPointsCount() / 2);
+        }
+        return best;
+    }
+
+    private static void report(String title, int size, Operation tabulated, Operation direct) {
+        double tabulatedMillis = millis(tabulated);
+        double directMillis = millis(direct);
+        System.out.printf("%-12s %8d %14.2f %14.2f %8.1fx%n", title, size, tabulatedMillis, directMillis,
+                tabulatedMillis / directMillis);
+    }
+
+    private static TabulatedFunction linked(TabulatedFunction f) {
+        FunctionPoint[] points = new FunctionPoint[f.getPointsCount()];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = f.getPoint(i);
+        }
+        return new LinkedListTabulatedFunction(points);
+    }
+
+    public static void main(String[] args) {
+        System.out.printf("%-12s %8s %14s %14s %9s%n", "операция", "точек", "tabulate, мс", "прямо, мс", "ускорение");
+
+        for (int size : SIZES) {
+            TabulatedFunction f = TabulatedFunctions.tabulate(new Sin(), 0, 10, size);
+            TabulatedFunction g = TabulatedFunctions.tabulate(new Cos(), 0, 10, size + size / 3);
+            int unionSize = TabulatedOperations.add(f, g).getPointsCount();
+
+            report("f + g", size,
+                    () -> TabulatedFunctions.tabulate(Functions.sum(f, g), 0, 10, unionSize),
+                    () -> TabulatedOperations.add(f, g));
+            report("f * g", size,
+                    () -> TabulatedFunctions.tabulate(Functions.mult(f, g), 0, 10, unionSize),
+                    () -> TabulatedOperations.multiply(f, g));
+
+            // Списочные таблицы: поиск точки в дереве медленнее, чем в равномерном массиве
+            TabulatedFunction linkedF = linked(f);
+            TabulatedFunction linkedG = linked(g);
+            report("f + g (спис)", size,
+                    () -> TabulatedFunctions.tabulate(Functions.sum(linkedF, linkedG), 0, 10, unionSize),
+                    () -> TabulatedOperations.add(linkedF, linkedG));
+
+            // Внешняя функция определена на всей области значений внутренней
+            TabulatedFunction outer = TabulatedFunctions.tabulate(new Exp(), -1, 1, size);
+            int composedSize = TabulatedOperations.compose(f, outer).getPointsCount();
+            report("exp(f)", size,
+                    () -> TabulatedFunctions.tabulate(Functions.composition(f, outer), 0, 10, composedSize),
+                    () -> TabulatedOperations.compose(f, outer));
+        }
+
+        System.out.println("(контрольная сумма " + sink + ")");
+    }
+}
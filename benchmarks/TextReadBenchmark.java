@@ -0,0 +1,100 @@
+package benchmarks;
+
+import functions.*;
+
+import java.io.*;
+
+// Скорость чтения текстового формата TabulatedFunctions.readTabulatedFunction
+// в сравнении с прежним разбором через StreamTokenizer, МБ/с.
+// Запуск: java benchmarks.TextReadBenchmark [кол-во точек]
+public class TextReadBenchmark {
+
+    private static double sink;
+
+    // Прежний алгоритм чтения
+    static TabulatedFunction readWithStreamTokenizer(Reader in) throws IOException {
+        StreamTokenizer tokenizer = new StreamTokenizer(in);
+
+        tokenizer.nextToken();
+        int pointsCount = (int) tokenizer.nval;
+
+        FunctionPoint[] points = new FunctionPoint[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            tokenizer.nextToken();
+            double x = tokenizer.nval;
+            tokenizer.nextToken();
+            double y = tokenizer.nval;
+            points[i] = new FunctionPoint(x, y);
+        }
+        return new ArrayTabulatedFunction(points);
+    }
+
+    private static String dump(TabulatedFunction function) throws IOException {
+        StringWriter writer = new StringWriter();
+        TabulatedFunctions.writeTabulatedFunction(function, writer);
+        return writer.toString();
+    }
+
+    private static double megabytesPerSecond(String text, boolean old) throws IOException {
+        long start = System.nanoTime();
+        try {
+            TabulatedFunction result = old
+                    ? readWithStreamTokenizer(new StringReader(text))
+                    : TabulatedFunctions.readTabulatedFunction(new StringReader(text));
+            sink += result.getPointY(result.getPointsCount() / 2);
+        } catch (IllegalArgumentException e) {
+            // StreamTokenizer разбил экспоненту на отдельные токены, и точки перепутались
+        }
+        long elapsed = System.nanoTime() - start;
+        return text.length() / 1e6 / (elapsed / 1e9);
+    }
+
+    private static void run(String title, TabulatedFunction function) throws IOException {
+        String text = dump(function);
+
+        for (int r = 0; r < 3; r++) {
+            megabytesPerSecond(text, true);
+            megabytesPerSecond(text, false);
+        }
+
+        // Совпадение прочитанного с исходным (StreamTokenizer не понимает экспоненту)
+        boolean oldExact;
+        try {
+            oldExact = function.equals(readWithStreamTokenizer(new StringReader(text)));
+        } catch (IllegalArgumentException e) {
+            oldExact = false;
+        }
+        boolean newExact = function.equals(TabulatedFunctions.readTabulatedFunction(new StringReader(text)));
+
+        System.out.printf("%-34s %8.1f МБ %12.1f %12.1f %8s %8s%n", title, text.length() / 1e6,
+                megabytesPerSecond(text, true), megabytesPerSecond(text, false), oldExact, newExact);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int pointsCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        System.out.printf("%-34s %11s %12s %12s %8s %8s%n", "данные", "объем",
+                "Tokenizer", "новый, МБ/с", "верно", "верно");
+
+        // Короткие десятичные значения - быстрый путь разбора
+        double[] values = new double[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            values[i] = Math.round(Math.sin(i * 0.001) * 1e6) / 1e6;
+        }
+        run("короткие числа (до 15 цифр)", new ArrayTabulatedFunction(0, pointsCount - 1, values));
+
+        // Полная точность double из Double.toString
+        for (int i = 0; i < pointsCount; i++) {
+            values[i] = Math.sin(i * 0.001);
+        }
+        run("полная точность (17 цифр)", new ArrayTabulatedFunction(0, 1, values));
+
+        // Экспоненциальная запись
+        for (int i = 0; i < pointsCount; i++) {
+            values[i] = Math.exp(-i * 0.0001) * 1e-8;
+        }
+        run("экспоненциальная запись", new ArrayTabulatedFunction(1e7, 2e7, values));
+
+        System.out.println("(контрольная сумма " + sink + ")");
+    }
+}
@@ -0,0 +1,147 @@
+package benchmarks;
+
+import functions.*;
+import functions.basic.*;
+
+import java.util.Random;
+
+// Пакетное вычисление векторными командами (jdk.incubator.vector) в сравнении со скалярным циклом,
+// млн элементов/с. Скалярный столбец - цикл с той же формулой по одному элементу,
+// векторный - ArrayMath или getFunctionValues (вектор используется, только если подключен модуль).
+// Запуск: java --add-modules jdk.incubator.vector benchmarks.VectorBenchmark [кол-во элементов]
+// (без модуля или без скомпилированного каталога vector/ оба столбца скалярные)
+public class VectorBenchmark {
+
+    private static final int ROUNDS = 300;
+
+    private static double sink;
+
+    private interface Body {
+        void run();
+    }
+
+    // Лучшее из нескольких повторений, млн элементов/с
+    private static double rate(int count, double[] values, Body body) {
+        double best = 0;
+        for (int r = 0; r < ROUNDS; r++) {
+            long start = System.nanoTime();
+            body.run();
+            long elapsed = System.nanoTime() - start;
+            sink += values[values.length / 2];
+            best = Math.max(best, count / (elapsed / 1e3));
+        }
+        return best;
+    }
+
+    private static void report(String title, int count, double[] values, Body scalar, Body vector) {
+        double scalarRate = rate(count, values, scalar);
+        double vectorRate = rate(count, values, vector);
+        System.out.printf("%-30s %12.1f %12.1f %8.2fx%n", title, scalarRate, vectorRate, vectorRate / scalarRate);
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 16;
+
+        System.out.println("Векторный путь: " + ArrayMath.isVectorized()
+                + ", элементов в векторе: " + ArrayMath.getVectorLength());
+        System.out.printf("%-30s %12s %12s %9s%n", "операция", "скалярно", "вектор", "ускорение");
+
+        Random random = new Random(1);
+        double[] a = new double[count];
+        double[] b = new double[count];
+        for (int i = 0; i < count; i++) {
+            a[i] = 0.5 + random.nextDouble();
+            b[i] = 0.5 + random.nextDouble();
+        }
+        double[] values = new double[count];
+
+        report("Sum: a + b", count, values, () -> {
+            for (int i = 0; i < count; i++) {
+                values[i] = a[i] + b[i];
+            }
+        }, () -> ArrayMath.add(a, b, values, count));
+
+        report("Mult: a * b", count, values, () -> {
+            for (int i = 0; i < count; i++) {
+                values[i] = a[i] * b[i];
+            }
+        }, () -> ArrayMath.multiply(a, b, values, count));
+
+        report("Shift: a + c", count, values, () -> {
+            for (int i = 0; i < count; i++) {
+                values[i] = a[i] + 0.25;
+            }
+        }, () -> ArrayMath.add(a, 0.25, values, count));
+
+        report("Scale: a / c", count, values, () -> {
+            for (int i = 0; i < count; i++) {
+                values[i] = a[i] / 1.5;
+            }
+        }, () -> ArrayMath.divide(a, 1.5, values, count));
+
+        report("ArrayMath.power: a^5", count, values, () -> {
+            for (int i = 0; i < count; i++) {
+                values[i] = Math.pow(a[i], 5);
+            }
+        }, () -> ArrayMath.power(a, 5, values, count));
+
+        report("ArrayMath.power: a^-3", count, values, () -> {
+            for (int i = 0; i < count; i++) {
+                values[i] = Math.pow(a[i], -3);
+            }
+        }, () -> ArrayMath.power(a, -3, values, count));
+
+        double[] xs = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = (random.nextDouble() * 2 - 1) * 10;
+        }
+        FastSin sin = new FastSin();
+        report("FastSin", count, values, () -> {
+            for (int i = 0; i < count; i++) {
+                values[i] = sin.getFunctionValue(xs[i]);
+            }
+        }, () -> sin.getFunctionValues(xs, values));
+
+        FastCos cos = new FastCos();
+        report("FastCos", count, values, () -> {
+            for (int i = 0; i < count; i++) {
+                values[i] = cos.getFunctionValue(xs[i]);
+            }
+        }, () -> cos.getFunctionValues(xs, values));
+
+        FastExp exp = new FastExp();
+        report("FastExp", count, values, () -> {
+            for (int i = 0; i < count; i++) {
+                values[i] = exp.getFunctionValue(xs[i]);
+            }
+        }, () -> exp.getFunctionValues(xs, values));
+
+        double[] cosines = new double[count];
+        SinCos sinCos = new SinCos();
+        report("SinCos", count, values, () -> {
+            for (int i = 0; i < count; i++) {
+                sinCos.evaluate(xs[i]);
+                values[i] = sinCos.getSin();
+                cosines[i] = sinCos.getCos();
+            }
+        }, () -> SinCos.evaluate(xs, values, cosines));
+
+        // Линейная интерполяция по возрастающей сетке аргументов
+        double[] ys = new double[1001];
+        for (int i = 0; i < ys.length; i++) {
+            ys[i] = Math.sin(i * 0.01);
+        }
+        ArrayTabulatedFunction table = new ArrayTabulatedFunction(-10, 10, ys);
+        double[] grid = new double[count];
+        for (int i = 0; i < count; i++) {
+            grid[i] = -10 + 20.0 * i / (count - 1);
+        }
+        report("ArrayTabulatedFunction", count, values, () -> {
+            for (int i = 0; i < count; i++) {
+                values[i] = table.getFunctionValue(grid[i]);
+            }
+        }, () -> table.getFunctionValues(grid, values));
+
+        System.out.println("(контрольная сумма " + sink + ")");
+    }
+}
@@ -0,0 +1,171 @@
+package functions;
+
+// Поэлементные операции над массивами для пакетного вычисления функций (getFunctionValues).
+//
+// Если виртуальная машина запущена с модулем jdk.incubator.vector
+// (java --add-modules jdk.incubator.vector ...), операции выполняются векторными
+// командами классом VectorArrayMath, иначе - обычными циклами. Оба пути выполняют
+// одни и те же операции в одном порядке, поэтому результаты совпадают бит в бит.
+// Векторный путь можно отключить свойством -Dfunctions.vector=false.
+//
+// Векторные классы лежат в отдельном каталоге исходников vector/ и компилируются
+// отдельно с ключом --add-modules jdk.incubator.vector, поэтому остальные классы
+// компилируются без модуля; без этих классов все операции выполняются циклами.
+//
+// Во всех операциях обрабатываются первые length элементов; массив результата
+// может совпадать с любым из массивов аргументов.
+public final class ArrayMath {
+
+    // Погрешность сравнения абсцисс, как в ArrayTabulatedFunction.compareDouble
+    private static final double EPSILON = 1e-10;
+
+    private ArrayMath() {
+    }
+
+    // Операции, выполняемые векторными командами
+    interface Kernels {
+        int length();
+
+        void add(double[] a, double[] b, double[] result, int length);
+
+        void add(double[] a, double c, double[] result, int length);
+
+        void multiply(double[] a, double[] b, double[] result, int length);
+
+        void multiply(double[] a, double c, double[] result, int length);
+
+        void divide(double[] a, double c, double[] result, int length);
+
+        void power(double[] a, int n, double[] result, int length);
+
+        void interpolateLinear(double[] xs, double[] x1, double[] y1, double[] x2, double[] y2,
+                               double[] result, int length);
+    }
+
+    private static final Kernels VECTOR = loadVector();
+
+    // Класс VectorArrayMath может отсутствовать (не скомпилирован каталог vector/),
+    // а без модуля jdk.incubator.vector его загрузка завершается LinkageError
+    private static Kernels loadVector() {
+        if (!Boolean.parseBoolean(System.getProperty("functions.vector", "true"))) {
+            return null;
+        }
+        try {
+            return (Kernels) Class.forName("functions.VectorArrayMath").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    // Выполняются ли операции векторными командами
+    public static boolean isVectorized() {
+        return VECTOR != null;
+    }
+
+    // Количество элементов, обрабатываемых одной командой (1 без векторного пути)
+    public static int getVectorLength() {
+        return VECTOR != null ? VECTOR.length() : 1;
+    }
+
+    // result[i] = a[i] + b[i]
+    public static void add(double[] a, double[] b, double[] result, int length) {
+        if (VECTOR != null) {
+            VECTOR.add(a, b, result, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            result[i] = a[i] + b[i];
+        }
+    }
+
+    // result[i] = a[i] + c (вычитание x - c равно x + (-c) точно)
+    public static void add(double[] a, double c, double[] result, int length) {
+        if (VECTOR != null) {
+            VECTOR.add(a, c, result, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            result[i] = a[i] + c;
+        }
+    }
+
+    // result[i] = a[i] * b[i]
+    public static void multiply(double[] a, double[] b, double[] result, int length) {
+        if (VECTOR != null) {
+            VECTOR.multiply(a, b, result, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            result[i] = a[i] * b[i];
+        }
+    }
+
+    // result[i] = a[i] * c
+    public static void multiply(double[] a, double c, double[] result, int length) {
+        if (VECTOR != null) {
+            VECTOR.multiply(a, c, result, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            result[i] = a[i] * c;
+        }
+    }
+
+    // result[i] = a[i] / c
+    public static void divide(double[] a, double c, double[] result, int length) {
+        if (VECTOR != null) {
+            VECTOR.divide(a, c, result, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            result[i] = a[i] / c;
+        }
+    }
+
+    // result[i] = a[i]^n, вычисленная возведением в квадрат и умножением (для n < 0 - 1 / a[i]^|n|).
+    // Быстрее Math.pow, но совпадает с ним только при n = 0, 1, 2: при других n результат может
+    // отличаться в последних разрядах, а при n < 0 промежуточная степень a[i]^|n| может переполниться
+    // (1e103 в степени -3 дает 0 вместо 1e-309). Поэтому Power использует его только для n = 0, 1, 2,
+    // а для прочих показателей применять явно там, где такое расхождение допустимо
+    public static void power(double[] a, int n, double[] result, int length) {
+        if (VECTOR != null) {
+            VECTOR.power(a, n, result, length);
+            return;
+        }
+        long m = Math.abs((long) n);
+        for (int i = 0; i < length; i++) {
+            double r = 1;
+            double b = a[i];
+            for (long k = m; k != 0; ) {
+                if ((k & 1) != 0) {
+                    r *= b;
+                }
+                k >>>= 1;
+                if (k != 0) {
+                    b *= b;
+                }
+            }
+            result[i] = n < 0 ? 1 / r : r;
+        }
+    }
+
+    // Линейная интерполяция по узлам (x1[i]; y1[i]) и (x2[i]; y2[i]) в точке xs[i].
+    // Если xs[i] совпадает с узлом с точностью до 1e-10, возвращается ордината узла
+    public static void interpolateLinear(double[] xs, double[] x1, double[] y1, double[] x2, double[] y2,
+                                         double[] result, int length) {
+        if (VECTOR != null) {
+            VECTOR.interpolateLinear(xs, x1, y1, x2, y2, result, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            double x = xs[i];
+            if (Math.abs(x - x1[i]) < EPSILON) {
+                result[i] = y1[i];
+            } else if (Math.abs(x - x2[i]) < EPSILON) {
+                result[i] = y2[i];
+            } else {
+                result[i] = y1[i] + (y2[i] - y1[i]) * (x - x1[i]) / (x2[i] - x1[i]);
+            }
+        }
+    }
+}
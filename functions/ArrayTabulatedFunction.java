@@ -1,12 +1,44 @@
 package functions;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Arrays;
 
+// Точки хранятся в массиве points_arr, длина которого (емкость) может превышать
+// количество точек pointslength. Свободный хвост массива заполняется при добавлении:
+// при нехватке места емкость растет в полтора раза, поэтому добавление в конец
+// стоит O(1) амортизированно, а вставка в середину сдвигает только следующие точки.
+// При удалении, когда занято не больше четверти емкости, массив уменьшается вдвое.
 public class ArrayTabulatedFunction implements TabulatedFunction, Serializable, Cloneable {
 
+    // Вычислен для исходной версии класса (поля points_arr и pointslength),
+    // чтобы потоки в прежнем формате читались и после изменения класса
+    private static final long serialVersionUID = -7542305893492419733L;
+
     private FunctionPoint[] points_arr;
     private int pointslength;
 
+    // Наименьшая емкость, до которой массив уменьшается при удалении точек
+    private static final int MIN_CAPACITY = 8;
+
+    // Наибольший размер массива, который может выделить виртуальная машина
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    // Сколько интервалов пакетное вычисление проходит подряд, прежде чем перейти к поиску
+    private static final int CURSOR_STEPS = 8;
+
+    // Размер порции точек при векторной линейной интерполяции
+    private static final int VECTOR_CHUNK = 256;
+
+    // Признак равномерной сетки по X (функция создана по границам и не менялась по X)
+    private boolean uniformGrid;
+    private double gridStep;
+
+    // Способ интерполяции и наклоны в узлах (null, пока не вычислены; см. slopes())
+    private Interpolation interpolation = Interpolation.LINEAR;
+    private transient volatile double[] slopes;
+
     // Обязательный конструктор для Externalizable
     public ArrayTabulatedFunction() {
     }
@@ -35,6 +67,8 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
         for (int i = 0; i < pointsCount; i++) {
             points_arr[i] = new FunctionPoint(leftX + intervalLength * i, 0);
         }
+        uniformGrid = true;
+        gridStep = intervalLength;
     }
 
     public ArrayTabulatedFunction(double leftX, double rightX, double[] points) {
@@ -57,6 +91,8 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
                 points_arr[i] = new FunctionPoint(leftX + intervalLength * i, points[i]);
             }
         }
+        uniformGrid = true;
+        gridStep = intervalLength;
     }
 
     public ArrayTabulatedFunction(FunctionPoint[] points) {
@@ -81,6 +117,128 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
         }
     }
 
+    public ArrayTabulatedFunction(double[] xValues, double[] yValues) {
+        // Проверка согласованности массивов
+        if (xValues.length != yValues.length) {
+            throw new IllegalArgumentException("Длины массивов X (" + xValues.length + ") и Y (" + yValues.length + ") не совпадают");
+        }
+
+        // Проверка количества точек
+        if (xValues.length < 2) {
+            throw new IllegalArgumentException("Количество точек " + xValues.length + " < 2");
+        }
+
+        // Проверка упорядоченности по X
+        for (int i = 0; i < xValues.length - 1; i++) {
+            if (xValues[i] >= xValues[i + 1]) {
+                throw new IllegalArgumentException("Точки не упорядочены по X. Индексы " + i + " и " + (i + 1));
+            }
+        }
+
+        points_arr = new FunctionPoint[xValues.length];
+        pointslength = xValues.length;
+
+        for (int i = 0; i < xValues.length; i++) {
+            points_arr[i] = new FunctionPoint(xValues[i], yValues[i]);
+        }
+    }
+
+    // Текущая емкость массива точек
+    public int getCapacity() {
+        return points_arr.length;
+    }
+
+    // Увеличивает емкость так, чтобы поместилось не менее minCapacity точек без перевыделения
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > points_arr.length) {
+            resize(minCapacity);
+        }
+    }
+
+    // Уменьшает емкость до количества точек
+    public void trimToSize() {
+        if (pointslength < points_arr.length) {
+            resize(pointslength);
+        }
+    }
+
+    // Емкость для размещения minCapacity точек: текущая, увеличенная в полтора раза, но не меньше нужной
+    private int grownCapacity(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Требуемая емкость " + minCapacity + " превышает " + MAX_CAPACITY);
+        }
+        int capacity = points_arr.length;
+        int grown = capacity + (capacity >> 1);
+        if (grown < 0 || grown > MAX_CAPACITY) {
+            grown = MAX_CAPACITY;
+        }
+        return Math.max(Math.max(grown, minCapacity), MIN_CAPACITY);
+    }
+
+    // Перенос точек (и наклонов) в массивы новой емкости
+    private void resize(int capacity) {
+        FunctionPoint[] temp_arr = new FunctionPoint[capacity];
+        System.arraycopy(points_arr, 0, temp_arr, 0, pointslength);
+        points_arr = temp_arr;
+        if (slopes != null) {
+            slopes = Arrays.copyOf(slopes, capacity);
+        }
+    }
+
+    public Interpolation getInterpolation() {
+        return interpolation;
+    }
+
+    // Задает способ интерполяции; наклоны будут вычислены при первом вычислении значения
+    public void setInterpolation(Interpolation interpolation) {
+        if (interpolation == null) {
+            throw new IllegalArgumentException("Способ интерполяции не задан");
+        }
+        this.interpolation = interpolation;
+        slopes = null;
+    }
+
+    // Наклоны в узлах для кубической интерполяции, вычисляемые при первом обращении.
+    // Функцию без изменений могут читать несколько потоков сразу (tabulateParallel, параллельное
+    // интегрирование): массив заполняется до записи в volatile-поле, поэтому другой поток видит его
+    // целиком, а одновременное вычисление в нескольких потоках дает одинаковые массивы
+    private double[] slopes() {
+        double[] computed = slopes;
+        if (computed == null) {
+            computed = new double[points_arr.length];
+            interpolation.computeSlopes(new Nodes(), pointslength, computed, 0, pointslength);
+            slopes = computed;
+        }
+        return computed;
+    }
+
+    // Пересчет наклонов, зависящих от точки index, после изменения этой точки или ее соседей.
+    // Для локальных способов пересчитываются только ближайшие наклоны, для глобального - все при следующем обращении
+    private void updateSlopes(int index) {
+        if (slopes == null) {
+            return;
+        }
+        int radius = interpolation.radius();
+        if (radius < 0) {
+            slopes = null;
+            return;
+        }
+        interpolation.computeSlopes(new Nodes(), pointslength, slopes,
+                Math.max(0, index - radius), Math.min(pointslength, index + radius + 1));
+    }
+
+    // Доступ к узлам для вычисления наклонов
+    private final class Nodes implements InterpolationNodes {
+        public double x(int i) {
+            return points_arr[i].getX();
+        }
+
+        public double y(int i) {
+            return points_arr[i].getY();
+        }
+    }
+
+
     public double getLeftDomainBorder() {
         return points_arr[0].getX();
     }
@@ -96,28 +254,141 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
         }
 
         // Поиск интервала, содержащего x
-        for (int i = 0; i < pointslength - 1; i++) {
-            if (points_arr[i].getX() <= x && points_arr[i + 1].getX() >= x) {
+        return interpolate(findIntervalIndex(x), x);
+    }
 
+    // Вычисляет значения во всех точках xs. Для возрастающих xs интервал не ищется заново,
+    // а сдвигается вперед от найденного для предыдущей точки
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        if (interpolation == Interpolation.LINEAR && ArrayMath.isVectorized()) {
+            getFunctionValuesVectorized(xs, values);
+            return;
+        }
 
-                if (compareDouble(x, points_arr[i].getX())) {
-                    return points_arr[i].getY();
-                }
-                if (compareDouble(x, points_arr[i + 1].getX())) {
-                    return points_arr[i + 1].getY();
+        double left = points_arr[0].getX();
+        double right = points_arr[pointslength - 1].getX();
+        int i = 0;
+
+        for (int k = 0; k < xs.length; k++) {
+            double x = xs[k];
+            if (!(x >= left && x <= right)) {
+                values[k] = Double.NaN;
+                continue;
+            }
+            i = nextIntervalIndex(i, x);
+            values[k] = interpolate(i, x);
+        }
+    }
+
+    // Линейная интерполяция порциями: интервалы ищутся так же, как в скалярном цикле,
+    // их концы выписываются в массивы, а значения по ним вычисляет ArrayMath векторными командами
+    private void getFunctionValuesVectorized(double[] xs, double[] values) {
+        double left = points_arr[0].getX();
+        double right = points_arr[pointslength - 1].getX();
+        int chunk = Math.min(VECTOR_CHUNK, xs.length);
+        double[] args = new double[chunk];
+        double[] x1 = new double[chunk];
+        double[] y1 = new double[chunk];
+        double[] x2 = new double[chunk];
+        double[] y2 = new double[chunk];
+        int i = 0;
+
+        for (int from = 0; from < xs.length; from += chunk) {
+            int length = Math.min(chunk, xs.length - from);
+            for (int k = 0; k < length; k++) {
+                double x = xs[from + k];
+                args[k] = x;
+                if (!(x >= left && x <= right)) {
+                    // Вне области определения: "узел" (x; NaN) совпадает с аргументом и дает NaN
+                    x1[k] = x;
+                    y1[k] = Double.NaN;
+                    x2[k] = x;
+                    y2[k] = Double.NaN;
+                    continue;
                 }
+                i = nextIntervalIndex(i, x);
+                x1[k] = points_arr[i].getX();
+                y1[k] = points_arr[i].getY();
+                x2[k] = points_arr[i + 1].getX();
+                y2[k] = points_arr[i + 1].getY();
+            }
+            ArrayMath.interpolateLinear(args, x1, y1, x2, y2, args, length);
+            System.arraycopy(args, 0, values, from, length);
+        }
+    }
+
+    // Интервал для очередной точки x пакетного вычисления: для точки правее текущего
+    // интервала i он сдвигается вперед (не дальше CURSOR_STEPS шагов), иначе ищется заново
+    private int nextIntervalIndex(int i, double x) {
+        if (i > 0 && points_arr[i].getX() >= x) {
+            // Точка левее текущего интервала
+            return findIntervalIndex(x);
+        }
+        int steps = 0;
+        while (points_arr[i + 1].getX() < x) {
+            if (++steps > CURSOR_STEPS) {
+                return findIntervalIndex(x);
+            }
+            i++;
+        }
+        return i;
+    }
 
+    // Значение функции в точке x интервала [x(i); x(i+1)]
+    private double interpolate(int i, double x) {
+        if (compareDouble(x, points_arr[i].getX())) {
+            return points_arr[i].getY();
+        }
+        if (compareDouble(x, points_arr[i + 1].getX())) {
+            return points_arr[i + 1].getY();
+        }
+
+        double x1 = points_arr[i].getX();
+        double y1 = points_arr[i].getY();
+        double x2 = points_arr[i + 1].getX();
+        double y2 = points_arr[i + 1].getY();
 
-                double x1 = points_arr[i].getX();
-                double y1 = points_arr[i].getY();
-                double x2 = points_arr[i + 1].getX();
-                double y2 = points_arr[i + 1].getY();
+        if (interpolation == Interpolation.LINEAR) {
+            return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+        }
+        double[] d = slopes();
+        return Interpolation.hermite(x1, y1, d[i], x2, y2, d[i + 1], x);
+    }
 
-                return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+    // Возвращает индекс i левого конца интервала [x(i); x(i+1)], содержащего x.
+    // Как и при последовательном просмотре, выбирается первый i, для которого x(i+1) >= x.
+    // Для равномерной сетки индекс вычисляется напрямую за O(1), иначе - бинарным поиском
+    private int findIntervalIndex(double x) {
+        if (uniformGrid) {
+            int i = (int) ((x - points_arr[0].getX()) / gridStep);
+            if (i > pointslength - 2) {
+                i = pointslength - 2;
             }
+            if (i < 0) {
+                i = 0;
+            }
+            // Поправка на погрешность округления при делении
+            while (i > 0 && points_arr[i].getX() >= x) {
+                i--;
+            }
+            while (i < pointslength - 2 && points_arr[i + 1].getX() < x) {
+                i++;
+            }
+            return i;
         }
 
-        return Double.NaN;
+        int low = 0;
+        int high = pointslength - 2;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (points_arr[mid + 1].getX() >= x) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
     }
 
     public int getPointsCount(){
@@ -165,6 +436,8 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
         }
 
         points_arr[index] = new FunctionPoint(point);
+        uniformGrid = false;
+        updateSlopes(index);
     }
 
     public double getPointX(int index){
@@ -203,6 +476,8 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
         }
 
         points_arr[index] = new FunctionPoint(x, points_arr[index].getY());
+        uniformGrid = false;
+        updateSlopes(index);
     }
 
     public double getPointY(int index){
@@ -221,6 +496,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
         }
 
         points_arr[index] = new FunctionPoint(points_arr[index].getX(), y);
+        updateSlopes(index);
     }
 
     public void deletePoint(int index){
@@ -234,40 +510,196 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
             throw new IllegalStateException("Нельзя удалить точку - останется меньше 3 точек. Текущее количество: " + pointslength);
         }
 
-        if(index >= 0 && index < pointslength){
-            points_arr[index] = null;
-            for(int i = index; i < pointslength-1; i++){
-                points_arr[i] = points_arr[i+1];
-            }
-            points_arr[pointslength-1] = null;
-            pointslength--;
+        System.arraycopy(points_arr, index + 1, points_arr, index, pointslength - index - 1);
+        points_arr[pointslength - 1] = null;
+        pointslength--;
+        uniformGrid = false;
+        if (slopes != null) {
+            System.arraycopy(slopes, index + 1, slopes, index, pointslength - index);
+            updateSlopes(index);
+        }
+
+        // Уменьшение емкости вдвое, когда занята четверть (запас вдвое исключает частые перевыделения)
+        if (points_arr.length > MIN_CAPACITY && pointslength <= points_arr.length / 4) {
+            resize(Math.max(points_arr.length / 2, MIN_CAPACITY));
         }
     }
 
-    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
-        // проверка: дублирование X
+    // Удаление набора точек за один проход: оставшиеся точки сдвигаются к началу массива
+    @Override
+    public void deletePoints(boolean[] remove) {
+        int remaining = 0;
+        for (int i = 0; i < pointslength; i++) {
+            if (!remove[i]) {
+                remaining++;
+            }
+        }
+        if (remaining == pointslength) {
+            return;
+        }
+        if (remaining < 3) {
+            throw new IllegalStateException("Нельзя удалить точки - останется меньше 3 точек: " + remaining);
+        }
+
+        int k = 0;
         for (int i = 0; i < pointslength; i++) {
-            if (compareDouble(points_arr[i].getX(), point.getX())) {
-                throw new InappropriateFunctionPointException("Точка с X=" + point.getX() + " уже существует");
+            if (!remove[i]) {
+                points_arr[k++] = points_arr[i];
             }
         }
+        Arrays.fill(points_arr, k, pointslength, null);
+        pointslength = k;
+        uniformGrid = false;
+        slopes = null;
+
+        // После удаления многих точек сразу вдвое может быть мало: емкость подгоняется под оставшиеся
+        // точки с запасом в полтора раза, как при росте
+        if (points_arr.length > MIN_CAPACITY && pointslength <= points_arr.length / 4) {
+            resize(Math.max(pointslength + (pointslength >> 1), MIN_CAPACITY));
+        }
+    }
+
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        double x = point.getX();
 
-        int indx = 0;
-        if(point.getX() > points_arr[pointslength-1].getX()){
+        // Позиция вставки - первая точка с X больше добавляемого; добавление в конец проверяется сразу
+        int indx;
+        if (x > points_arr[pointslength - 1].getX()) {
             indx = pointslength;
+        } else {
+            indx = 0;
+            int high = pointslength;
+            while (indx < high) {
+                int mid = (indx + high) >>> 1;
+                if (points_arr[mid].getX() < x) {
+                    indx = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+        }
+
+        // проверка: дублирование X (совпасть может только один из соседей)
+        if ((indx > 0 && compareDouble(points_arr[indx - 1].getX(), x))
+                || (indx < pointslength && compareDouble(points_arr[indx].getX(), x))) {
+            throw new InappropriateFunctionPointException("Точка с X=" + x + " уже существует");
+        }
+
+        if (pointslength == points_arr.length) {
+            resize(grownCapacity(pointslength + 1));
+        }
+        System.arraycopy(points_arr, indx, points_arr, indx + 1, pointslength - indx);
+        points_arr[indx] = point;
+        pointslength++;
+        uniformGrid = false;
+        if (slopes != null) {
+            System.arraycopy(slopes, indx, slopes, indx + 1, pointslength - 1 - indx);
+            updateSlopes(indx);
+        }
+    }
+
+    // Добавление набора точек за один проход слияния. Слияние идет с конца,
+    // поэтому при достаточной емкости выполняется на месте, иначе - в один новый массив
+    @Override
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        FunctionPoint[] batch = TabulatedFunctions.sortedDistinct(points);
+        if (batch.length == 0) {
+            return;
+        }
+
+        // проверка: дублирование X (до изменения функции)
+        int i = 0;
+        int j = 0;
+        while (i < pointslength && j < batch.length) {
+            if (compareDouble(points_arr[i].getX(), batch[j].getX())) {
+                throw new InappropriateFunctionPointException("Точка с X=" + batch[j].getX() + " уже существует");
+            }
+            if (points_arr[i].getX() < batch[j].getX()) {
+                i++;
+            } else {
+                j++;
+            }
         }
-        for(int i = 0; i < pointslength-1; i++){
-            if(point.getX() >= points_arr[i].getX() && point.getX() <= points_arr[i+1].getX()){
-                indx = i+1;
-                i=pointslength-1;
+
+        int newLength = pointslength + batch.length;
+        FunctionPoint[] temp_arr = newLength <= points_arr.length
+                ? points_arr
+                : new FunctionPoint[grownCapacity(newLength)];
+        i = pointslength - 1;
+        j = batch.length - 1;
+        for (int k = newLength - 1; k >= 0; k--) {
+            if (j < 0 || (i >= 0 && points_arr[i].getX() > batch[j].getX())) {
+                temp_arr[k] = points_arr[i--];
+            } else {
+                temp_arr[k] = batch[j--];
             }
         }
-        FunctionPoint[] temp_arr = new FunctionPoint[pointslength+1];
-        System.arraycopy(points_arr, 0, temp_arr, 0, indx);
-        temp_arr[indx] = point;
-        System.arraycopy(points_arr, indx, temp_arr, indx+1, pointslength-indx);
         points_arr = temp_arr;
-        pointslength++;
+        pointslength = newLength;
+        uniformGrid = false;
+        slopes = null;
+    }
+
+    @Override
+    public PointCursor cursor(int index) {
+        if (index < -1 || index > pointslength) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс курсора " + index + " выходит за границы [-1, " + pointslength + "]");
+        }
+        return new ArrayCursor(index);
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer action) {
+        for (int i = 0; i < pointslength; i++) {
+            action.accept(points_arr[i].getX(), points_arr[i].getY());
+        }
+    }
+
+    // Курсор, читающий массив точек напрямую
+    private final class ArrayCursor implements PointCursor {
+        private int index;
+
+        ArrayCursor(int index) {
+            this.index = index;
+        }
+
+        public boolean moveNext() {
+            if (index + 1 < pointslength) {
+                index++;
+                return true;
+            }
+            index = pointslength;
+            return false;
+        }
+
+        public boolean movePrevious() {
+            if (index > 0) {
+                index--;
+                return true;
+            }
+            index = -1;
+            return false;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public double getX() {
+            checkPosition();
+            return points_arr[index].getX();
+        }
+
+        public double getY() {
+            checkPosition();
+            return points_arr[index].getY();
+        }
+
+        private void checkPosition() {
+            if (index < 0 || index >= pointslength) {
+                throw new FunctionPointIndexOutOfBoundsException("Курсор не указывает на точку: индекс " + index);
+            }
+        }
     }
 
     //Возвращает текстовое описание табулированной функции в формате {(x1; y1), (x2; y2), ...}
@@ -321,12 +753,12 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
                 return false;
             }
 
-            // Сравнение каждой точки через getPoint
+            // Сравнение каждой точки за один проход курсором, без копий точек
+            PointCursor cursor = other.cursor();
             for (int i = 0; i < pointslength; i++) {
-                FunctionPoint thisPoint = this.points_arr[i];
-                FunctionPoint otherPoint = other.getPoint(i);
-
-                if (!thisPoint.equals(otherPoint)) {
+                cursor.moveNext();
+                if (!compareDouble(points_arr[i].getX(), cursor.getX())
+                        || !compareDouble(points_arr[i].getY(), cursor.getY())) {
                     return false;
                 }
             }
@@ -363,10 +795,83 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
                 cloned.points_arr[i] = (FunctionPoint) this.points_arr[i].clone();
             }
             cloned.pointslength = this.pointslength;
+            if (slopes != null) {
+                cloned.slopes = slopes.clone();
+            }
 
             return cloned;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException("Ошибка при клонировании объекта ArrayTabulatedFunction", e);
         }
     }
+
+    // Сериализация. Вместо графа объектов (массив ссылок и объект FunctionPoint с дескриптором
+    // и описателем на каждую точку) в поток записывается SerialForm: массивы double, которые
+    // ObjectOutputStream пишет одним блоком; абсциссы равномерной сетки не записываются
+    private Object writeReplace() {
+        return new SerialForm(this);
+    }
+
+    // Объект, прочитанный из потока в прежнем формате: полей, добавленных позже, в потоке нет
+    private Object readResolve() throws ObjectStreamException {
+        if (points_arr == null || pointslength < 2 || pointslength > points_arr.length) {
+            throw new InvalidObjectException("Некорректное количество точек " + pointslength);
+        }
+        if (interpolation == null) {
+            interpolation = Interpolation.LINEAR;
+        }
+        return this;
+    }
+
+    private static final class SerialForm implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        // Абсциссы (null для равномерной сетки leftX + gridStep * i) и ординаты точек
+        private final double[] xValues;
+        private final double[] yValues;
+        private final double leftX;
+        private final double gridStep;
+        private final Interpolation interpolation;
+
+        SerialForm(ArrayTabulatedFunction function) {
+            int pointsCount = function.pointslength;
+            xValues = function.uniformGrid ? null : new double[pointsCount];
+            yValues = new double[pointsCount];
+            for (int i = 0; i < pointsCount; i++) {
+                if (xValues != null) {
+                    xValues[i] = function.points_arr[i].getX();
+                }
+                yValues[i] = function.points_arr[i].getY();
+            }
+            leftX = function.points_arr[0].getX();
+            gridStep = function.gridStep;
+            interpolation = function.interpolation;
+        }
+
+        // Восстанавливает функцию через конструктор, проверяющий упорядоченность точек
+        private Object readResolve() throws ObjectStreamException {
+            if (yValues == null || interpolation == null) {
+                throw new InvalidObjectException("Неполные данные табулированной функции");
+            }
+            double[] xs = xValues;
+            if (xs == null) {
+                // Так же, как в конструкторах по границам
+                xs = new double[yValues.length];
+                for (int i = 0; i < xs.length; i++) {
+                    xs[i] = leftX + gridStep * i;
+                }
+            }
+            try {
+                ArrayTabulatedFunction function = new ArrayTabulatedFunction(xs, yValues);
+                function.uniformGrid = xValues == null;
+                function.gridStep = gridStep;
+                function.interpolation = interpolation;
+                return function;
+            } catch (IllegalArgumentException e) {
+                InvalidObjectException invalid = new InvalidObjectException(e.getMessage());
+                invalid.initCause(e);
+                throw invalid;
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package functions;
+
+// Итог сжатия табулированной функции: количество точек до сжатия, количество удаленных точек
+// и наибольшее отклонение сжатой функции от исходных значений в удаленных точках
+public final class CompactionResult {
+
+    private final int pointsBefore;
+    private final int pointsRemoved;
+    private final double maxError;
+
+    public CompactionResult(int pointsBefore, int pointsRemoved, double maxError) {
+        this.pointsBefore = pointsBefore;
+        this.pointsRemoved = pointsRemoved;
+        this.maxError = maxError;
+    }
+
+    public int getPointsBefore() {
+        return pointsBefore;
+    }
+
+    public int getPointsRemoved() {
+        return pointsRemoved;
+    }
+
+    public int getPointsAfter() {
+        return pointsBefore - pointsRemoved;
+    }
+
+    public double getMaxError() {
+        return maxError;
+    }
+
+    @Override
+    public String toString() {
+        return "удалено " + pointsRemoved + " из " + pointsBefore + " точек, погрешность " + maxError;
+    }
+}
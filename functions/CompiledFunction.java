@@ -0,0 +1,576 @@
+package functions;
+
+import functions.basic.*;
+import functions.meta.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Функция, скомпилированная из дерева узлов functions.meta и functions.basic
+// в плоскую программу стековой машины.
+//
+// Shift, Scale, сложение и умножение с константой компилируются в отдельные команды
+// с теми же действиями, что и у узлов дерева (x - c как x + (-c), деление на растяжение
+// по X остается делением), а поддеревья, не зависящие от аргумента (например, степень 0),
+// вычисляются заранее теми же действиями. Поэтому результат совпадает с исходным деревом
+// до бита. Подряд идущие команды с константами не сливаются в одно аффинное преобразование:
+// оно округляло бы иначе; опускаются только тождественные (+ (-0.0), * 1, / 1). Узлы других
+// типов (например, табулированные функции) вызываются как есть.
+public class CompiledFunction implements Function {
+
+    // Коды команд. Вершина стека - текущий аргумент или результат
+    private static final int CONST = 0;   // вершина = a
+    private static final int ADD_CONST = 1;   // вершина = вершина + a
+    private static final int SIN = 2;
+    private static final int COS = 3;
+    private static final int TAN = 4;
+    private static final int EXP = 5;
+    private static final int LOG = 6;     // вершина = ln(вершина) / a
+    private static final int POW = 7;     // вершина = вершина ^ a
+    private static final int SQUARE = 8;
+    private static final int DUP = 9;
+    private static final int SWAP = 10;
+    private static final int ADD = 11;
+    private static final int MUL = 12;
+    private static final int CALL = 13;   // вершина = calls[pc](вершина)
+    private static final int MUL_CONST = 14;  // вершина = вершина * a
+    private static final int DIV_CONST = 15;  // вершина = вершина / a
+
+    // Размер порции при вычислении значений в массиве точек
+    private static final int BATCH_CHUNK = 512;
+
+    // Наибольшая глубина стека, при которой скалярное вычисление обходится локальными переменными
+    private static final int LOCAL_STACK = 4;
+
+    private final Function source;
+    private final int[] ops;
+    private final double[] argA;
+    private final Function[] calls;
+    private final int maxStack;
+    // Стек скалярного вычисления для программ глубже LOCAL_STACK (null - массив занят или не создан)
+    private final ThreadLocal<double[]> stackBuffer = new ThreadLocal<>();
+
+    public CompiledFunction(Function source) {
+        this.source = source;
+
+        List<Instruction> program = compile(source).instructions;
+        int length = program.size();
+        ops = new int[length];
+        argA = new double[length];
+        calls = new Function[length];
+
+        int depth = 1;
+        int max = 1;
+        for (int pc = 0; pc < length; pc++) {
+            Instruction instruction = program.get(pc);
+            ops[pc] = instruction.op;
+            argA[pc] = instruction.a;
+            calls[pc] = instruction.function;
+
+            if (instruction.op == DUP) {
+                depth++;
+                max = Math.max(max, depth);
+            } else if (instruction.op == ADD || instruction.op == MUL) {
+                depth--;
+            }
+        }
+        maxStack = max;
+    }
+
+    // Исходное дерево функции
+    public Function getSource() {
+        return source;
+    }
+
+    // Количество команд скомпилированной программы
+    public int getProgramLength() {
+        return ops.length;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return source.getLeftDomainBorder();
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return source.getRightDomainBorder();
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        return maxStack <= LOCAL_STACK ? runLocal(x) : runStack(x);
+    }
+
+    // Стек глубиной до LOCAL_STACK: уровни под вершиной - в локальных переменных s0 (ближайший),
+    // s1, s2; при DUP они сдвигаются вниз, при ADD и MUL - вверх. Массив не выделяется
+    private double runLocal(double x) {
+        double top = x;
+        double s0 = 0;
+        double s1 = 0;
+        double s2 = 0;
+
+        for (int pc = 0; pc < ops.length; pc++) {
+            switch (ops[pc]) {
+                case DUP:
+                    s2 = s1;
+                    s1 = s0;
+                    s0 = top;
+                    break;
+                case SWAP: {
+                    double below = s0;
+                    s0 = top;
+                    top = below;
+                    break;
+                }
+                case ADD:
+                    top = s0 + top;
+                    s0 = s1;
+                    s1 = s2;
+                    break;
+                case MUL:
+                    top = s0 * top;
+                    s0 = s1;
+                    s1 = s2;
+                    break;
+                default:
+                    top = unary(pc, top);
+                    break;
+            }
+        }
+        return top;
+    }
+
+    // Более глубокий стек: уровни под вершиной - в массиве потока, размер которого известен
+    // после компиляции. Массив забирается из ThreadLocal на время вычисления, поэтому
+    // повторный вызов той же функции из CALL в том же потоке получает собственный массив
+    private double runStack(double x) {
+        double[] stack = stackBuffer.get();
+        if (stack == null) {
+            stack = new double[maxStack - 1];
+        } else {
+            stackBuffer.set(null);
+        }
+        int sp = 0;
+        double top = x;
+
+        for (int pc = 0; pc < ops.length; pc++) {
+            switch (ops[pc]) {
+                case DUP:
+                    stack[sp++] = top;
+                    break;
+                case SWAP: {
+                    double below = stack[sp - 1];
+                    stack[sp - 1] = top;
+                    top = below;
+                    break;
+                }
+                case ADD:
+                    top = stack[--sp] + top;
+                    break;
+                case MUL:
+                    top = stack[--sp] * top;
+                    break;
+                default:
+                    top = unary(pc, top);
+                    break;
+            }
+        }
+        stackBuffer.set(stack);
+        return top;
+    }
+
+    // Команда, заменяющая вершину стека (в том числе вызов CALL)
+    private double unary(int pc, double top) {
+        switch (ops[pc]) {
+            case CONST:
+                return argA[pc];
+            case ADD_CONST:
+                return top + argA[pc];
+            case MUL_CONST:
+                return top * argA[pc];
+            case DIV_CONST:
+                return top / argA[pc];
+            case SIN:
+                return Math.sin(top);
+            case COS:
+                return Math.cos(top);
+            case TAN:
+                return Math.tan(top);
+            case EXP:
+                return Math.exp(top);
+            case LOG:
+                return Math.log(top) / argA[pc];
+            case POW:
+                return Math.pow(top, argA[pc]);
+            case SQUARE:
+                return top * top;
+            default:
+                return calls[pc].getFunctionValue(top);
+        }
+    }
+
+    // Программа выполняется порциями: каждая команда обрабатывает сразу всю порцию точек
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        double[][] stack = null;
+
+        for (int from = 0; from < xs.length; from += BATCH_CHUNK) {
+            int length = Math.min(BATCH_CHUNK, xs.length - from);
+            if (stack == null || stack[0].length != length) {
+                stack = new double[maxStack][length];
+            }
+
+            System.arraycopy(xs, from, stack[0], 0, length);
+            execute(stack, length);
+            System.arraycopy(stack[0], 0, values, from, length);
+        }
+    }
+
+    private void execute(double[][] stack, int length) {
+        int sp = 0;
+
+        for (int pc = 0; pc < ops.length; pc++) {
+            double[] top = stack[sp];
+            double a = argA[pc];
+
+            switch (ops[pc]) {
+                case CONST:
+                    for (int i = 0; i < length; i++) {
+                        top[i] = a;
+                    }
+                    break;
+                case ADD_CONST:
+                    for (int i = 0; i < length; i++) {
+                        top[i] += a;
+                    }
+                    break;
+                case MUL_CONST:
+                    for (int i = 0; i < length; i++) {
+                        top[i] *= a;
+                    }
+                    break;
+                case DIV_CONST:
+                    for (int i = 0; i < length; i++) {
+                        top[i] /= a;
+                    }
+                    break;
+                case SIN:
+                    for (int i = 0; i < length; i++) {
+                        top[i] = Math.sin(top[i]);
+                    }
+                    break;
+                case COS:
+                    for (int i = 0; i < length; i++) {
+                        top[i] = Math.cos(top[i]);
+                    }
+                    break;
+                case TAN:
+                    for (int i = 0; i < length; i++) {
+                        top[i] = Math.tan(top[i]);
+                    }
+                    break;
+                case EXP:
+                    for (int i = 0; i < length; i++) {
+                        top[i] = Math.exp(top[i]);
+                    }
+                    break;
+                case LOG:
+                    for (int i = 0; i < length; i++) {
+                        top[i] = Math.log(top[i]) / a;
+                    }
+                    break;
+                case POW:
+                    for (int i = 0; i < length; i++) {
+                        top[i] = Math.pow(top[i], a);
+                    }
+                    break;
+                case SQUARE:
+                    for (int i = 0; i < length; i++) {
+                        top[i] = top[i] * top[i];
+                    }
+                    break;
+                case DUP:
+                    System.arraycopy(top, 0, stack[++sp], 0, length);
+                    break;
+                case SWAP:
+                    stack[sp] = stack[sp - 1];
+                    stack[sp - 1] = top;
+                    break;
+                case ADD: {
+                    double[] below = stack[--sp];
+                    for (int i = 0; i < length; i++) {
+                        below[i] += top[i];
+                    }
+                    break;
+                }
+                case MUL: {
+                    double[] below = stack[--sp];
+                    for (int i = 0; i < length; i++) {
+                        below[i] *= top[i];
+                    }
+                    break;
+                }
+                default:
+                    calls[pc].getFunctionValues(top, top);
+                    break;
+            }
+        }
+    }
+
+    // Компиляция узла дерева в фрагмент программы, заменяющий аргумент на вершине стека значением узла
+    private static Code compile(Function f) {
+        if (f instanceof CompiledFunction) {
+            return compile(((CompiledFunction) f).getSource());
+        }
+        if (f instanceof Constant) {
+            return Code.constant(((Constant) f).getValue());
+        }
+        if (f instanceof Identity) {
+            // Пустой фрагмент оставляет аргумент на вершине стека
+            return new Code();
+        }
+        if (f instanceof Sin) {
+            return Code.of(new Instruction(SIN));
+        }
+        if (f instanceof Cos) {
+            return Code.of(new Instruction(COS));
+        }
+        if (f instanceof Tan) {
+            return Code.of(new Instruction(TAN));
+        }
+        if (f instanceof Exp) {
+            return Code.of(new Instruction(EXP));
+        }
+        if (f instanceof Log) {
+            return Code.of(new Instruction(LOG, Math.log(((Log) f).getBase())));
+        }
+        if (f instanceof Shift) {
+            Shift shift = (Shift) f;
+            Code code = new Code();
+            code.append(new Instruction(ADD_CONST, -shift.getShiftX()));
+            code.appendAll(compile(shift.getF()));
+            code.append(new Instruction(ADD_CONST, shift.getShiftY()));
+            return code;
+        }
+        if (f instanceof Scale) {
+            Scale scale = (Scale) f;
+            Code code = new Code();
+            code.append(new Instruction(DIV_CONST, scale.getScaleX()));
+            code.appendAll(compile(scale.getF()));
+            code.append(new Instruction(MUL_CONST, scale.getScaleY()));
+            return code;
+        }
+        if (f instanceof Power) {
+            Power power = (Power) f;
+            double p = power.getPower();
+            if (p == 0) {
+                // Math.pow(v, 0) = 1 для любого v
+                return Code.constant(1);
+            }
+            Code code = compile(power.getF());
+            if (p == 2) {
+                code.append(new Instruction(SQUARE));
+            } else if (p != 1) {
+                code.append(new Instruction(POW, p));
+            }
+            return code;
+        }
+        if (f instanceof Sum) {
+            Sum sum = (Sum) f;
+            return binary(compile(sum.getF1()), compile(sum.getF2()), ADD);
+        }
+        if (f instanceof Mult) {
+            Mult mult = (Mult) f;
+            return binary(compile(mult.getF1()), compile(mult.getF2()), MUL);
+        }
+        if (f instanceof Composition) {
+            Composition composition = (Composition) f;
+            Code code = compile(composition.getF1());
+            code.appendAll(compile(composition.getF2()));
+            return code;
+        }
+
+        // Неизвестный узел вызывается напрямую
+        Instruction call = new Instruction(CALL);
+        call.function = f;
+        return Code.of(call);
+    }
+
+    // Сумма или произведение двух фрагментов; константный операнд становится командой с константой
+    private static Code binary(Code first, Code second, int op) {
+        if (first.constant && second.constant) {
+            return Code.constant(op == ADD ? first.value + second.value : first.value * second.value);
+        }
+        if (first.constant || second.constant) {
+            Code code = first.constant ? second : first;
+            double c = first.constant ? first.value : second.value;
+            code.append(new Instruction(op == ADD ? ADD_CONST : MUL_CONST, c));
+            return code;
+        }
+
+        Code code = Code.of(new Instruction(DUP));
+        code.appendAll(first);
+        code.append(new Instruction(SWAP));
+        code.appendAll(second);
+        code.append(new Instruction(op));
+        return code;
+    }
+
+    // Команда программы на этапе компиляции
+    private static final class Instruction {
+        private final int op;
+        private final double a;
+        private Function function;
+
+        Instruction(int op) {
+            this(op, 0);
+        }
+
+        Instruction(int op, double a) {
+            this.op = op;
+            this.a = a;
+        }
+
+        boolean isUnary() {
+            return op != DUP && op != SWAP && op != ADD && op != MUL && op != CALL;
+        }
+
+        // Команда, не меняющая ни одного значения (в том числе -0.0 и NaN); + 0.0 к ним не относится,
+        // т.к. -0.0 + 0.0 = 0.0
+        boolean isIdentity() {
+            switch (op) {
+                case ADD_CONST:
+                    return Double.doubleToRawLongBits(a) == Double.doubleToRawLongBits(-0.0);
+                case MUL_CONST:
+                case DIV_CONST:
+                    return a == 1;
+                default:
+                    return false;
+            }
+        }
+
+        // Применение одноместной команды к известному значению
+        double apply(double v) {
+            switch (op) {
+                case CONST:
+                    return a;
+                case ADD_CONST:
+                    return v + a;
+                case MUL_CONST:
+                    return v * a;
+                case DIV_CONST:
+                    return v / a;
+                case SIN:
+                    return Math.sin(v);
+                case COS:
+                    return Math.cos(v);
+                case TAN:
+                    return Math.tan(v);
+                case EXP:
+                    return Math.exp(v);
+                case LOG:
+                    return Math.log(v) / a;
+                case POW:
+                    return Math.pow(v, a);
+                default:
+                    return v * v;
+            }
+        }
+    }
+
+    // Фрагмент программы. Если фрагмент не зависит от аргумента, constant = true и value - его значение
+    private static final class Code {
+        private final List<Instruction> instructions = new ArrayList<>();
+        private boolean constant;
+        private double value;
+
+        static Code of(Instruction instruction) {
+            Code code = new Code();
+            code.instructions.add(instruction);
+            return code;
+        }
+
+        static Code constant(double value) {
+            Code code = of(new Instruction(CONST, value));
+            code.constant = true;
+            code.value = value;
+            return code;
+        }
+
+        void append(Instruction instruction) {
+            if (constant && instruction.isUnary()) {
+                setConstant(instruction.apply(value));
+                return;
+            }
+            constant = false;
+            if (!instruction.isIdentity()) {
+                instructions.add(instruction);
+            }
+        }
+
+        // Дописывает фрагмент, который получает на вершине стека результат текущего
+        void appendAll(Code next) {
+            if (next.constant) {
+                setConstant(next.value);
+                return;
+            }
+            if (constant && !next.hasCalls()) {
+                setConstant(next.run(value));
+                return;
+            }
+            for (Instruction instruction : next.instructions) {
+                append(instruction);
+            }
+        }
+
+        private void setConstant(double v) {
+            instructions.clear();
+            instructions.add(new Instruction(CONST, v));
+            constant = true;
+            value = v;
+        }
+
+        private boolean hasCalls() {
+            for (Instruction instruction : instructions) {
+                if (instruction.op == CALL) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Выполнение фрагмента без вызовов на этапе компиляции
+        private double run(double x) {
+            double[] stack = new double[instructions.size() + 1];
+            int sp = 0;
+            stack[0] = x;
+            for (Instruction instruction : instructions) {
+                switch (instruction.op) {
+                    case DUP:
+                        stack[sp + 1] = stack[sp];
+                        sp++;
+                        break;
+                    case SWAP: {
+                        double t = stack[sp];
+                        stack[sp] = stack[sp - 1];
+                        stack[sp - 1] = t;
+                        break;
+                    }
+                    case ADD:
+                        stack[sp - 1] += stack[sp];
+                        sp--;
+                        break;
+                    case MUL:
+                        stack[sp - 1] *= stack[sp];
+                        sp--;
+                        break;
+                    default:
+                        stack[sp] = instruction.apply(stack[sp]);
+                        break;
+                }
+            }
+            return stack[0];
+        }
+    }
+}
@@ -0,0 +1,651 @@
+package functions;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+// Табулированная функция только для чтения, точки которой хранятся в сжатом виде по столбцам.
+//
+// Абсциссы равномерной сетки (точно совпадающей с leftX + step * i, как у MappedTabulatedFunction)
+// не хранятся вовсе, остальные записываются разностями второго порядка двоичных представлений
+// (zigzag + varint: для сетки с постоянным шагом разности близки к нулю и занимают 1 байт).
+// Ординаты сжимаются XOR-кодированием Gorilla: XOR с предыдущим значением записывается
+// битом 0, если значения совпадают, иначе значащими битами - в окне предыдущего значения
+// или с новым окном (5 бит ведущих нулей, 6 бит длины). Гладкие и квантованные ряды
+// (показания датчиков) сжимаются в несколько раз, ряды с шумом во всех разрядах - слабо.
+//
+// Точки делятся на блоки по BLOCK_SIZE, каждый блок декодируется независимо: индекс хранит
+// первую точку блока и смещения его данных. Поиск значения находит блок по индексу
+// (для равномерной сетки - арифметически) и декодирует только его начало до нужного интервала.
+// Сжатие без потерь: все координаты восстанавливаются побитово.
+// Сериализуемая форма по умолчанию уже компактна: все поля - примитивы и массивы примитивов,
+// которые ObjectOutputStream пишет одним блоком, поэтому в поток попадают сжатые данные.
+public class CompressedTabulatedFunction implements TabulatedFunction, Serializable, Cloneable {
+
+    private static final long serialVersionUID = 1L;
+
+    // Размер блока - компромисс между размером индекса и длиной декодирования при поиске
+    private static final int BLOCK_SHIFT = 6;
+    public static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    private final int pointsCount;
+    private final boolean uniformGrid;
+    private final double leftX;
+    private final double rightX;
+    private final double gridStep;
+
+    // Индекс блоков: первая точка блока и смещения данных блока
+    private final double[] blockFirstX;
+    private final double[] blockFirstY;
+    private final int[] blockXOffset;
+    private final long[] blockYOffset;
+
+    // Разности абсцисс (null для равномерной сетки) и битовый поток ординат
+    private final byte[] xData;
+    private final long[] yData;
+
+    // Сжимает точки табулированной функции
+    public CompressedTabulatedFunction(TabulatedFunction function) {
+        this(readColumns(function));
+    }
+
+    // Сжимает точки с абсциссами xs и ординатами ys (абсциссы строго возрастают)
+    public CompressedTabulatedFunction(double[] xs, double[] ys) {
+        this(checkColumns(xs, ys));
+    }
+
+    private CompressedTabulatedFunction(double[][] columns) {
+        double[] xs = columns[0];
+        double[] ys = columns[1];
+        pointsCount = xs.length;
+        leftX = xs[0];
+        rightX = xs[pointsCount - 1];
+        gridStep = (rightX - leftX) / (pointsCount - 1);
+        uniformGrid = isUniformGrid(xs, leftX, gridStep);
+
+        int blocks = ((pointsCount - 1) >>> BLOCK_SHIFT) + 1;
+        blockFirstX = new double[blocks];
+        blockFirstY = new double[blocks];
+        blockXOffset = uniformGrid ? null : new int[blocks];
+        blockYOffset = new long[blocks];
+
+        ByteWriter xWriter = uniformGrid ? null : new ByteWriter(pointsCount * 2);
+        BitWriter yWriter = new BitWriter(pointsCount);
+        for (int b = 0; b < blocks; b++) {
+            int from = b << BLOCK_SHIFT;
+            int to = Math.min(from + BLOCK_SIZE, pointsCount);
+            blockFirstX[b] = xs[from];
+            blockFirstY[b] = ys[from];
+            if (xWriter != null) {
+                blockXOffset[b] = xWriter.size;
+                encodeXs(xs, from, to, xWriter);
+            }
+            blockYOffset[b] = yWriter.position;
+            encodeYs(ys, from, to, yWriter);
+        }
+        xData = xWriter == null ? null : Arrays.copyOf(xWriter.data, xWriter.size);
+        yData = Arrays.copyOf(yWriter.words, (int) ((yWriter.position + 63) >>> 6));
+    }
+
+    private static double[][] readColumns(TabulatedFunction function) {
+        int count = function.getPointsCount();
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        int[] position = {0};
+        function.forEachPoint((x, y) -> {
+            xs[position[0]] = x;
+            ys[position[0]] = y;
+            position[0]++;
+        });
+        return new double[][]{xs, ys};
+    }
+
+    private static double[][] checkColumns(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Количество абсцисс " + xs.length + " не равно количеству ординат " + ys.length);
+        }
+        if (xs.length < 2) {
+            throw new IllegalArgumentException("Количество точек " + xs.length + " < 2");
+        }
+        for (int i = 0; i < xs.length - 1; i++) {
+            if (!(xs[i] < xs[i + 1])) {
+                throw new IllegalArgumentException("Точки не упорядочены по X. Индексы " + i + " и " + (i + 1));
+            }
+        }
+        return new double[][]{xs.clone(), ys.clone()};
+    }
+
+    // Абсциссы точно совпадают с сеткой, которую восстановит x(i)
+    private static boolean isUniformGrid(double[] xs, double leftX, double step) {
+        for (int i = 0; i < xs.length; i++) {
+            if (Double.doubleToLongBits(xs[i]) != Double.doubleToLongBits(leftX + step * i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Разности второго порядка двоичных представлений абсцисс блока (первая - в индексе)
+    private static void encodeXs(double[] xs, int from, int to, ByteWriter out) {
+        long previous = Double.doubleToRawLongBits(xs[from]);
+        long previousDelta = 0;
+        for (int i = from + 1; i < to; i++) {
+            long bits = Double.doubleToRawLongBits(xs[i]);
+            long delta = bits - previous;
+            long dod = delta - previousDelta;
+            out.writeVarLong((dod << 1) ^ (dod >> 63));
+            previous = bits;
+            previousDelta = delta;
+        }
+    }
+
+    // XOR-кодирование ординат блока (первая - в индексе)
+    private static void encodeYs(double[] ys, int from, int to, BitWriter out) {
+        long previous = Double.doubleToRawLongBits(ys[from]);
+        // Окно значащих битов предыдущего XOR (leading < 0 - окна еще нет)
+        int leading = -1;
+        int trailing = 0;
+        for (int i = from + 1; i < to; i++) {
+            long bits = Double.doubleToRawLongBits(ys[i]);
+            long xor = bits ^ previous;
+            previous = bits;
+            if (xor == 0) {
+                out.write(0, 1);
+                continue;
+            }
+            int lz = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int tz = Long.numberOfTrailingZeros(xor);
+            if (leading >= 0 && lz >= leading && tz >= trailing) {
+                out.write(0b10, 2);
+                out.write(xor >>> trailing, 64 - leading - trailing);
+            } else {
+                int significant = 64 - lz - tz;
+                out.write(0b11, 2);
+                out.write(lz, 5);
+                out.write(significant - 1, 6);
+                out.write(xor >>> tz, significant);
+                leading = lz;
+                trailing = tz;
+            }
+        }
+    }
+
+    // Проверка согласованности индекса и данных, прочитанных из потока
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int blocks = pointsCount < 2 ? -1 : ((pointsCount - 1) >>> BLOCK_SHIFT) + 1;
+        if (blockFirstX == null || blockFirstY == null || blockYOffset == null || yData == null
+                || blockFirstX.length != blocks || blockFirstY.length != blocks || blockYOffset.length != blocks
+                || uniformGrid != (xData == null) || !uniformGrid && (blockXOffset == null || blockXOffset.length != blocks)) {
+            throw new InvalidObjectException("Некорректные данные сжатой табулированной функции");
+        }
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Сжатая табулированная функция доступна только для чтения");
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс " + index + " выходит за границы [0, " + (pointsCount - 1) + "]");
+        }
+    }
+
+    private int blockEnd(int block) {
+        return Math.min((block + 1) << BLOCK_SHIFT, pointsCount);
+    }
+
+    // Абсцисса точки index (для неравномерной сетки декодируется начало блока)
+    private double x(int index) {
+        if (uniformGrid) {
+            return leftX + gridStep * index;
+        }
+        int block = index >>> BLOCK_SHIFT;
+        XDecoder decoder = new XDecoder(block);
+        for (int k = index & (BLOCK_SIZE - 1); k > 0; k--) {
+            decoder.next();
+        }
+        return decoder.current();
+    }
+
+    private double y(int index) {
+        int block = index >>> BLOCK_SHIFT;
+        YDecoder decoder = new YDecoder(block);
+        for (int k = index & (BLOCK_SIZE - 1); k > 0; k--) {
+            decoder.next();
+        }
+        return decoder.current();
+    }
+
+    // Последний блок, первая абсцисса которого меньше x (0, если таких нет)
+    private int findBlock(double x) {
+        int low = 0;
+        int high = blockFirstX.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (blockFirstX[mid] < x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    // Количество байтов, занимаемых сжатыми данными и индексом блоков
+    public long getCompressedSize() {
+        long size = (long) yData.length * Long.BYTES
+                + (long) blockFirstX.length * (2 * Double.BYTES + Long.BYTES);
+        if (!uniformGrid) {
+            size += xData.length + (long) blockXOffset.length * Integer.BYTES;
+        }
+        return size;
+    }
+
+    // Во сколько раз сжатые данные меньше двух столбцов double (16 байт на точку)
+    public double getCompressionRatio() {
+        return (double) pointsCount * 2 * Double.BYTES / getCompressedSize();
+    }
+
+    public boolean isUniformGrid() {
+        return uniformGrid;
+    }
+
+    public double getLeftDomainBorder() {
+        return leftX;
+    }
+
+    public double getRightDomainBorder() {
+        return rightX;
+    }
+
+    public double getFunctionValue(double x) {
+        // Проверка границ
+        if (x < leftX || x > rightX) {
+            return Double.NaN;
+        }
+
+        // Интервал [x(i); x(i+1)], содержащий x (первый i, для которого x(i+1) >= x)
+        int i;
+        double x1;
+        double x2;
+        if (uniformGrid) {
+            i = (int) ((x - leftX) / gridStep);
+            if (i > pointsCount - 2) {
+                i = pointsCount - 2;
+            }
+            if (i < 0) {
+                i = 0;
+            }
+            while (i > 0 && x(i) >= x) {
+                i--;
+            }
+            while (i < pointsCount - 2 && x(i + 1) < x) {
+                i++;
+            }
+            x1 = x(i);
+            x2 = x(i + 1);
+        } else {
+            // Абсциссы блока декодируются до первой, не меньшей x
+            int block = findBlock(x);
+            int end = blockEnd(block);
+            XDecoder decoder = new XDecoder(block);
+            i = block << BLOCK_SHIFT;
+            x1 = decoder.current();
+            x2 = Double.NaN;
+            while (i < end - 1) {
+                x2 = decoder.next();
+                if (x2 >= x) {
+                    break;
+                }
+                x1 = x2;
+                i++;
+            }
+            if (i == end - 1) {
+                // x за последней точкой блока - интервал до первой точки следующего
+                x2 = blockFirstX[block + 1];
+            }
+        }
+
+        // Ординаты концов интервала: вторая может быть первой точкой следующего блока
+        int block = i >>> BLOCK_SHIFT;
+        YDecoder decoder = new YDecoder(block);
+        for (int k = i & (BLOCK_SIZE - 1); k > 0; k--) {
+            decoder.next();
+        }
+        double y1 = decoder.current();
+        if (ArrayTabulatedFunction.compareDouble(x, x1)) {
+            return y1;
+        }
+        double y2 = i + 1 < blockEnd(block) ? decoder.next() : blockFirstY[block + 1];
+        if (ArrayTabulatedFunction.compareDouble(x, x2)) {
+            return y2;
+        }
+        return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+    }
+
+    // Пакетное вычисление: декодированный блок используется, пока аргументы остаются в нем
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        // Точки блока и первая точка следующего
+        double[] blockXs = new double[BLOCK_SIZE + 1];
+        double[] blockYs = new double[BLOCK_SIZE + 1];
+        int loaded = -1;
+        int loadedCount = 0;
+        for (int j = 0; j < xs.length; j++) {
+            double x = xs[j];
+            if (!(x >= leftX && x <= rightX)) {
+                values[j] = Double.NaN;
+                continue;
+            }
+            if (loaded < 0 || x <= blockXs[0] && loaded > 0 || x > blockXs[loadedCount - 1]) {
+                loaded = findBlock(x);
+                loadedCount = decodeBlock(loaded, blockXs, blockYs);
+            }
+
+            int low = 0;
+            int high = loadedCount - 2;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (blockXs[mid + 1] >= x) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            double x1 = blockXs[low];
+            double x2 = blockXs[low + 1];
+            if (ArrayTabulatedFunction.compareDouble(x, x1)) {
+                values[j] = blockYs[low];
+            } else if (ArrayTabulatedFunction.compareDouble(x, x2)) {
+                values[j] = blockYs[low + 1];
+            } else {
+                values[j] = blockYs[low] + (blockYs[low + 1] - blockYs[low]) * (x - x1) / (x2 - x1);
+            }
+        }
+    }
+
+    // Декодирует точки блока и первую точку следующего блока, возвращает их количество
+    private int decodeBlock(int block, double[] xs, double[] ys) {
+        int from = block << BLOCK_SHIFT;
+        int count = blockEnd(block) - from;
+        YDecoder yDecoder = new YDecoder(block);
+        ys[0] = yDecoder.current();
+        for (int k = 1; k < count; k++) {
+            ys[k] = yDecoder.next();
+        }
+        if (uniformGrid) {
+            for (int k = 0; k < count; k++) {
+                xs[k] = leftX + gridStep * (from + k);
+            }
+        } else {
+            XDecoder xDecoder = new XDecoder(block);
+            xs[0] = xDecoder.current();
+            for (int k = 1; k < count; k++) {
+                xs[k] = xDecoder.next();
+            }
+        }
+        if (block + 1 < blockFirstX.length) {
+            xs[count] = blockFirstX[block + 1];
+            ys[count] = blockFirstY[block + 1];
+            count++;
+        }
+        return count;
+    }
+
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(x(index), y(index));
+    }
+
+    public void setPoint(int index, FunctionPoint point) {
+        throw readOnly();
+    }
+
+    public double getPointX(int index) {
+        checkIndex(index);
+        return x(index);
+    }
+
+    public void setPointX(int index, double x) {
+        throw readOnly();
+    }
+
+    public double getPointY(int index) {
+        checkIndex(index);
+        return y(index);
+    }
+
+    public void setPointY(int index, double y) {
+        throw readOnly();
+    }
+
+    public void deletePoint(int index) {
+        throw readOnly();
+    }
+
+    @Override
+    public void deletePoints(boolean[] remove) {
+        throw readOnly();
+    }
+
+    public void addPoint(FunctionPoint point) {
+        throw readOnly();
+    }
+
+    // Последовательное декодирование всех блоков
+    @Override
+    public void forEachPoint(PointConsumer action) {
+        for (int b = 0; b < blockFirstX.length; b++) {
+            int from = b << BLOCK_SHIFT;
+            int end = blockEnd(b);
+            YDecoder yDecoder = new YDecoder(b);
+            XDecoder xDecoder = uniformGrid ? null : new XDecoder(b);
+            for (int i = from; i < end; i++) {
+                double x;
+                double y;
+                if (i == from) {
+                    x = blockFirstX[b];
+                    y = yDecoder.current();
+                } else {
+                    x = uniformGrid ? leftX + gridStep * i : xDecoder.next();
+                    y = yDecoder.next();
+                }
+                action.accept(x, y);
+            }
+        }
+    }
+
+    //Возвращает текстовое описание табулированной функции в формате {(x1; y1), (x2; y2), ...}
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        forEachPoint((x, y) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append("(").append(x).append("; ").append(y).append(")");
+        });
+        sb.append("}");
+        return sb.toString();
+    }
+
+    //Сравнивает две табулированные функции на равенство
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TabulatedFunction)) return false;
+
+        TabulatedFunction other = (TabulatedFunction) o;
+        if (pointsCount != other.getPointsCount()) {
+            return false;
+        }
+
+        PointCursor cursor = other.cursor();
+        boolean[] equal = {true};
+        forEachPoint((x, y) -> {
+            cursor.moveNext();
+            if (!ArrayTabulatedFunction.compareDouble(x, cursor.getX())
+                    || !ArrayTabulatedFunction.compareDouble(y, cursor.getY())) {
+                equal[0] = false;
+            }
+        });
+        return equal[0];
+    }
+
+    //Вычисляет хэш-код табулированной функции (так же, как ArrayTabulatedFunction)
+
+    @Override
+    public int hashCode() {
+        int[] hash = {pointsCount};
+        forEachPoint((x, y) -> {
+            long xBits = Double.doubleToLongBits(x);
+            long yBits = Double.doubleToLongBits(y);
+            hash[0] ^= (int) (xBits ^ (xBits >>> 32)) ^ (int) (yBits ^ (yBits >>> 32));
+        });
+        return hash[0];
+    }
+
+    //Функция неизменяема, поэтому копия разделяет с оригиналом сжатые данные
+
+    @Override
+    public Object clone() {
+        try {
+            return super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException("Ошибка при клонировании объекта CompressedTabulatedFunction", e);
+        }
+    }
+
+    // Последовательное чтение абсцисс блока
+    private final class XDecoder {
+        private int position;
+        private long previous;
+        private long previousDelta;
+
+        XDecoder(int block) {
+            position = blockXOffset[block];
+            previous = Double.doubleToRawLongBits(blockFirstX[block]);
+        }
+
+        double current() {
+            return Double.longBitsToDouble(previous);
+        }
+
+        double next() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = xData[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            long dod = (value >>> 1) ^ -(value & 1);
+            previousDelta += dod;
+            previous += previousDelta;
+            return Double.longBitsToDouble(previous);
+        }
+    }
+
+    // Последовательное чтение ординат блока
+    private final class YDecoder {
+        private long position;
+        private long previous;
+        private int leading;
+        private int trailing;
+
+        YDecoder(int block) {
+            position = blockYOffset[block];
+            previous = Double.doubleToRawLongBits(blockFirstY[block]);
+        }
+
+        double current() {
+            return Double.longBitsToDouble(previous);
+        }
+
+        double next() {
+            if (read(1) != 0) {
+                if (read(1) != 0) {
+                    leading = (int) read(5);
+                    int significant = (int) read(6) + 1;
+                    trailing = 64 - leading - significant;
+                }
+                previous ^= read(64 - leading - trailing) << trailing;
+            }
+            return Double.longBitsToDouble(previous);
+        }
+
+        // Следующие bits (1..64) битов потока, старшие биты - первыми
+        private long read(int bits) {
+            int word = (int) (position >>> 6);
+            int offset = (int) (position & 63);
+            position += bits;
+            long value = yData[word] << offset;
+            if (offset + bits > 64) {
+                value |= yData[word + 1] >>> (64 - offset);
+            }
+            return bits == 64 ? value : value >>> (64 - bits);
+        }
+    }
+
+    // Расширяемый массив байтов
+    private static final class ByteWriter {
+        byte[] data;
+        int size;
+
+        ByteWriter(int capacity) {
+            data = new byte[Math.max(capacity, 16)];
+        }
+
+        void writeVarLong(long value) {
+            if (size + 10 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((value & ~0x7FL) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+    }
+
+    // Расширяемый битовый поток, старшие биты слова - первыми
+    private static final class BitWriter {
+        long[] words;
+        long position;
+
+        BitWriter(int capacity) {
+            words = new long[Math.max(capacity, 16)];
+        }
+
+        // Записывает младшие bits (1..64) битов value
+        void write(long value, int bits) {
+            int word = (int) (position >>> 6);
+            if (word + 1 >= words.length) {
+                words = Arrays.copyOf(words, words.length * 2);
+            }
+            if (bits < 64) {
+                value &= (1L << bits) - 1;
+            }
+            int offset = (int) (position & 63);
+            int free = 64 - offset;
+            if (bits <= free) {
+                words[word] |= value << (free - bits);
+            } else {
+                words[word] |= value >>> (bits - free);
+                words[word + 1] |= value << (64 - (bits - free));
+            }
+            position += bits;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package functions;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+
+// Потокобезопасная табулированная функция для сценария "один писатель - много читателей".
+//
+// Точки хранятся в неизменяемом снимке (DoubleArrayTabulatedFunction), ссылка на который volatile.
+// Чтение берет текущий снимок без блокировок, поэтому интерполяция не ждет писателя
+// и всегда видит согласованный набор точек. Изменение выполняется под блокировкой объекта:
+// копия снимка изменяется и публикуется целиком, так что каждое изменение атомарно,
+// но стоит O(n) - функция рассчитана на редкие изменения и частое чтение.
+// Отдельные вызовы getPointX/getPointY могут попасть в разные снимки; для согласованного
+// обхода нескольких точек следует взять getSnapshot().
+public class ConcurrentTabulatedFunction implements TabulatedFunction, Serializable, Cloneable {
+
+    // Вычислен для первой версии класса, которая записывалась формой по умолчанию
+    private static final long serialVersionUID = 9054729726013860683L;
+
+    private volatile DoubleArrayTabulatedFunction snapshot;
+
+    public ConcurrentTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        snapshot = new DoubleArrayTabulatedFunction(leftX, rightX, pointsCount);
+    }
+
+    public ConcurrentTabulatedFunction(double leftX, double rightX, double[] points) {
+        snapshot = new DoubleArrayTabulatedFunction(leftX, rightX, points);
+    }
+
+    public ConcurrentTabulatedFunction(FunctionPoint[] points) {
+        snapshot = new DoubleArrayTabulatedFunction(points);
+    }
+
+    // Создает потокобезопасную копию произвольной табулированной функции
+    public ConcurrentTabulatedFunction(TabulatedFunction function) {
+        int pointsCount = function.getPointsCount();
+        double[] xValues = new double[pointsCount];
+        double[] yValues = new double[pointsCount];
+        PointCursor cursor = function.cursor();
+        for (int i = 0; i < pointsCount; i++) {
+            cursor.moveNext();
+            xValues[i] = cursor.getX();
+            yValues[i] = cursor.getY();
+        }
+        snapshot = new DoubleArrayTabulatedFunction(xValues, yValues);
+    }
+
+    // Оборачивает снимок, прочитанный из потока
+    private ConcurrentTabulatedFunction(DoubleArrayTabulatedFunction snapshot) {
+        publish(snapshot);
+    }
+
+    // Возвращает независимую копию текущего состояния функции
+    public TabulatedFunction getSnapshot() {
+        return (TabulatedFunction) snapshot.clone();
+    }
+
+    // Публикует измененную копию; наклоны интерполяции вычисляются до публикации,
+    // чтобы читатели не изменяли снимок
+    private void publish(DoubleArrayTabulatedFunction copy) {
+        copy.prepareInterpolation();
+        snapshot = copy;
+    }
+
+    // Копия текущего снимка для изменения (вызывается под блокировкой)
+    private DoubleArrayTabulatedFunction copyForWrite() {
+        return (DoubleArrayTabulatedFunction) snapshot.clone();
+    }
+
+    public double getLeftDomainBorder() {
+        return snapshot.getLeftDomainBorder();
+    }
+
+    public double getRightDomainBorder() {
+        return snapshot.getRightDomainBorder();
+    }
+
+    public double getFunctionValue(double x) {
+        return snapshot.getFunctionValue(x);
+    }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        snapshot.getFunctionValues(xs, values);
+    }
+
+    public int getPointsCount() {
+        return snapshot.getPointsCount();
+    }
+
+    public FunctionPoint getPoint(int index) {
+        return snapshot.getPoint(index);
+    }
+
+    public synchronized void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        DoubleArrayTabulatedFunction copy = copyForWrite();
+        copy.setPoint(index, point);
+        publish(copy);
+    }
+
+    public double getPointX(int index) {
+        return snapshot.getPointX(index);
+    }
+
+    public synchronized void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        DoubleArrayTabulatedFunction copy = copyForWrite();
+        copy.setPointX(index, x);
+        publish(copy);
+    }
+
+    public double getPointY(int index) {
+        return snapshot.getPointY(index);
+    }
+
+    public synchronized void setPointY(int index, double y) {
+        DoubleArrayTabulatedFunction copy = copyForWrite();
+        copy.setPointY(index, y);
+        publish(copy);
+    }
+
+    public synchronized void deletePoint(int index) {
+        DoubleArrayTabulatedFunction copy = copyForWrite();
+        copy.deletePoint(index);
+        publish(copy);
+    }
+
+    @Override
+    public synchronized void deletePoints(boolean[] remove) {
+        DoubleArrayTabulatedFunction copy = copyForWrite();
+        copy.deletePoints(remove);
+        publish(copy);
+    }
+
+    public synchronized void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        DoubleArrayTabulatedFunction copy = copyForWrite();
+        copy.addPoint(point);
+        publish(copy);
+    }
+
+    @Override
+    public synchronized void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        DoubleArrayTabulatedFunction copy = copyForWrite();
+        copy.addPoints(points);
+        publish(copy);
+    }
+
+    @Override
+    public Interpolation getInterpolation() {
+        return snapshot.getInterpolation();
+    }
+
+    @Override
+    public synchronized void setInterpolation(Interpolation interpolation) {
+        DoubleArrayTabulatedFunction copy = copyForWrite();
+        copy.setInterpolation(interpolation);
+        publish(copy);
+    }
+
+    // Курсор проходит по снимку, взятому при его создании, и не видит последующих изменений
+    @Override
+    public PointCursor cursor(int index) {
+        return snapshot.cursor(index);
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer action) {
+        snapshot.forEachPoint(action);
+    }
+
+    //Возвращает текстовое описание табулированной функции в формате {(x1; y1), (x2; y2), ...}
+
+    @Override
+    public String toString() {
+        return snapshot.toString();
+    }
+
+    //Сравнивает две табулированные функции на равенство (по снимкам)
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o instanceof ConcurrentTabulatedFunction) {
+            return snapshot.equals(((ConcurrentTabulatedFunction) o).snapshot);
+        }
+        return snapshot.equals(o);
+    }
+
+    //Вычисляет хэш-код табулированной функции
+
+    @Override
+    public int hashCode() {
+        return snapshot.hashCode();
+    }
+
+    //Создает копию табулированной функции; снимок неизменяем, поэтому его можно разделить
+
+    @Override
+    public Object clone() {
+        try {
+            return super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException("Ошибка при клонировании объекта ConcurrentTabulatedFunction", e);
+        }
+    }
+
+    // Сериализация через SerialForm: записывается текущий снимок в компактной форме
+    // DoubleArrayTabulatedFunction, при чтении он снова оборачивается в потокобезопасную функцию
+    private Object writeReplace() {
+        return new SerialForm(snapshot);
+    }
+
+    // Объект, прочитанный из потока в прежнем формате (поле snapshot формой по умолчанию)
+    private Object readResolve() throws ObjectStreamException {
+        if (snapshot == null) {
+            throw new InvalidObjectException("Снимок табулированной функции не задан");
+        }
+        return new ConcurrentTabulatedFunction(snapshot);
+    }
+
+    private static final class SerialForm implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final DoubleArrayTabulatedFunction snapshot;
+
+        SerialForm(DoubleArrayTabulatedFunction snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+            if (snapshot == null) {
+                throw new InvalidObjectException("Снимок табулированной функции не задан");
+            }
+            return new ConcurrentTabulatedFunction(snapshot);
+        }
+    }
+}
@@ -0,0 +1,721 @@
+package functions;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Arrays;
+
+// Табулированная функция, хранящая абсциссы и ординаты в двух параллельных массивах double.
+// Объекты FunctionPoint создаются только в getPoint, чтение и изменение координат
+// выполняются без выделения памяти.
+//
+// Расход памяти на точку (64-битная JVM со сжатыми ссылками):
+//   DoubleArrayTabulatedFunction - 16 байт (8 байт x + 8 байт y);
+//   ArrayTabulatedFunction       - 36 байт (4 байта ссылки + объект FunctionPoint:
+//                                  12 байт заголовка + 16 байт координат, выравнивание до 32),
+//                                  без сжатых ссылок - 40 байт.
+public class DoubleArrayTabulatedFunction implements TabulatedFunction, Serializable, Cloneable {
+
+    // Вычислен для предыдущей версии класса, сериализуемой по умолчанию
+    private static final long serialVersionUID = -7091634377128175884L;
+
+    private double[] xValues;
+    private double[] yValues;
+    private int pointslength;
+
+    // Сколько интервалов пакетное вычисление проходит подряд, прежде чем перейти к поиску
+    private static final int CURSOR_STEPS = 8;
+
+    // Признак равномерной сетки по X (функция создана по границам и не менялась по X)
+    private boolean uniformGrid;
+    private double gridStep;
+
+    // Способ интерполяции и наклоны в узлах (null, пока не вычислены; см. slopes())
+    private Interpolation interpolation = Interpolation.LINEAR;
+    private transient volatile double[] slopes;
+
+    public DoubleArrayTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        // проверка левая граница >= правой
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница " + leftX + " >= правой границы " + rightX);
+        }
+
+        // проверка количество точек < 2
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Количество точек " + pointsCount + " < 2");
+        }
+
+        xValues = new double[pointsCount];
+        yValues = new double[pointsCount];
+        pointslength = pointsCount;
+
+        double intervalLength = (rightX - leftX) / (pointsCount - 1);
+
+        for (int i = 0; i < pointsCount; i++) {
+            xValues[i] = leftX + intervalLength * i;
+        }
+        uniformGrid = true;
+        gridStep = intervalLength;
+    }
+
+    public DoubleArrayTabulatedFunction(double leftX, double rightX, double[] points) {
+        // проверка левая граница >= правой
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница " + leftX + " >= правой границы " + rightX);
+        }
+
+        // проверка количество точек < 2
+        if (points.length < 2) {
+            throw new IllegalArgumentException("Количество точек " + points.length + " < 2");
+        }
+
+        pointslength = points.length;
+        xValues = new double[points.length];
+        yValues = points.clone();
+
+        double intervalLength = (rightX - leftX) / (points.length - 1);
+
+        for (int i = 0; i < points.length; i++) {
+            xValues[i] = leftX + intervalLength * i;
+        }
+        uniformGrid = true;
+        gridStep = intervalLength;
+    }
+
+    public DoubleArrayTabulatedFunction(FunctionPoint[] points) {
+        // Проверка количества точек
+        if (points.length < 2) {
+            throw new IllegalArgumentException("Количество точек " + points.length + " < 2");
+        }
+
+        // Проверка упорядоченности по X
+        for (int i = 0; i < points.length - 1; i++) {
+            if (points[i].getX() >= points[i + 1].getX()) {
+                throw new IllegalArgumentException("Точки не упорядочены по X. Индексы " + i + " и " + (i + 1));
+            }
+        }
+
+        pointslength = points.length;
+        xValues = new double[points.length];
+        yValues = new double[points.length];
+
+        for (int i = 0; i < points.length; i++) {
+            xValues[i] = points[i].getX();
+            yValues[i] = points[i].getY();
+        }
+    }
+
+    public DoubleArrayTabulatedFunction(double[] xValues, double[] yValues) {
+        // Проверка согласованности массивов
+        if (xValues.length != yValues.length) {
+            throw new IllegalArgumentException("Длины массивов X (" + xValues.length + ") и Y (" + yValues.length + ") не совпадают");
+        }
+
+        // Проверка количества точек
+        if (xValues.length < 2) {
+            throw new IllegalArgumentException("Количество точек " + xValues.length + " < 2");
+        }
+
+        // Проверка упорядоченности по X
+        for (int i = 0; i < xValues.length - 1; i++) {
+            if (xValues[i] >= xValues[i + 1]) {
+                throw new IllegalArgumentException("Точки не упорядочены по X. Индексы " + i + " и " + (i + 1));
+            }
+        }
+
+        // Создание копий массивов для инкапсуляции
+        pointslength = xValues.length;
+        this.xValues = xValues.clone();
+        this.yValues = yValues.clone();
+    }
+
+    public double getLeftDomainBorder() {
+        return xValues[0];
+    }
+
+    public double getRightDomainBorder() {
+        return xValues[pointslength - 1];
+    }
+
+    public double getFunctionValue(double x) {
+        // Проверка границ
+        if (x < xValues[0] || x > xValues[pointslength - 1]) {
+            return Double.NaN;
+        }
+
+        // Поиск интервала, содержащего x
+        return interpolate(findIntervalIndex(x), x);
+    }
+
+    // Вычисляет значения во всех точках xs. Для возрастающих xs интервал не ищется заново,
+    // а сдвигается вперед от найденного для предыдущей точки
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        double left = xValues[0];
+        double right = xValues[pointslength - 1];
+        int i = 0;
+
+        for (int k = 0; k < xs.length; k++) {
+            double x = xs[k];
+            if (!(x >= left && x <= right)) {
+                values[k] = Double.NaN;
+                continue;
+            }
+
+            if (i > 0 && xValues[i] >= x) {
+                // Точка левее текущего интервала
+                i = findIntervalIndex(x);
+            } else {
+                int steps = 0;
+                while (xValues[i + 1] < x) {
+                    if (++steps > CURSOR_STEPS) {
+                        i = findIntervalIndex(x);
+                        break;
+                    }
+                    i++;
+                }
+            }
+            values[k] = interpolate(i, x);
+        }
+    }
+
+    // Значение функции в точке x интервала [x(i); x(i+1)]
+    private double interpolate(int i, double x) {
+        if (ArrayTabulatedFunction.compareDouble(x, xValues[i])) {
+            return yValues[i];
+        }
+        if (ArrayTabulatedFunction.compareDouble(x, xValues[i + 1])) {
+            return yValues[i + 1];
+        }
+
+        double x1 = xValues[i];
+        double y1 = yValues[i];
+        double x2 = xValues[i + 1];
+        double y2 = yValues[i + 1];
+
+        if (interpolation == Interpolation.LINEAR) {
+            return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+        }
+        double[] d = slopes();
+        return Interpolation.hermite(x1, y1, d[i], x2, y2, d[i + 1], x);
+    }
+
+    public Interpolation getInterpolation() {
+        return interpolation;
+    }
+
+    // Задает способ интерполяции; наклоны будут вычислены при первом вычислении значения
+    public void setInterpolation(Interpolation interpolation) {
+        if (interpolation == null) {
+            throw new IllegalArgumentException("Способ интерполяции не задан");
+        }
+        this.interpolation = interpolation;
+        slopes = null;
+    }
+
+    // Наклоны в узлах для кубической интерполяции, вычисляемые при первом обращении.
+    // Функцию без изменений могут читать несколько потоков сразу (tabulateParallel, параллельное
+    // интегрирование): массив заполняется до записи в volatile-поле, поэтому другой поток видит его
+    // целиком, а одновременное вычисление в нескольких потоках дает одинаковые массивы
+    private double[] slopes() {
+        double[] computed = slopes;
+        if (computed == null) {
+            computed = new double[xValues.length];
+            interpolation.computeSlopes(new Nodes(), pointslength, computed, 0, pointslength);
+            slopes = computed;
+        }
+        return computed;
+    }
+
+    // Пересчет наклонов, зависящих от точки index, после изменения этой точки или ее соседей.
+    // Для локальных способов пересчитываются только ближайшие наклоны, для глобального - все при следующем обращении
+    private void updateSlopes(int index) {
+        if (slopes == null) {
+            return;
+        }
+        int radius = interpolation.radius();
+        if (radius < 0) {
+            slopes = null;
+            return;
+        }
+        interpolation.computeSlopes(new Nodes(), pointslength, slopes,
+                Math.max(0, index - radius), Math.min(pointslength, index + radius + 1));
+    }
+
+    // Доступ к узлам для вычисления наклонов
+    private final class Nodes implements InterpolationNodes {
+        public double x(int i) {
+            return xValues[i];
+        }
+
+        public double y(int i) {
+            return yValues[i];
+        }
+    }
+
+    // Вычисляет наклоны заранее, чтобы затем функцию можно было читать из нескольких потоков
+    void prepareInterpolation() {
+        if (interpolation != Interpolation.LINEAR) {
+            slopes();
+        }
+    }
+
+    // Возвращает индекс i левого конца интервала [x(i); x(i+1)], содержащего x
+    // (первый i, для которого x(i+1) >= x), так же как ArrayTabulatedFunction
+    private int findIntervalIndex(double x) {
+        if (uniformGrid) {
+            int i = (int) ((x - xValues[0]) / gridStep);
+            if (i > pointslength - 2) {
+                i = pointslength - 2;
+            }
+            if (i < 0) {
+                i = 0;
+            }
+            // Поправка на погрешность округления при делении
+            while (i > 0 && xValues[i] >= x) {
+                i--;
+            }
+            while (i < pointslength - 2 && xValues[i + 1] < x) {
+                i++;
+            }
+            return i;
+        }
+
+        int low = 0;
+        int high = pointslength - 2;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (xValues[mid + 1] >= x) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    public int getPointsCount() {
+        return pointslength;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointslength) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс " + index + " выходит за границы [0, " + (pointslength - 1) + "]");
+        }
+    }
+
+    // Проверяет, что x лежит строго между соседями точки с индексом index
+    private void checkOrder(int index, double x) throws InappropriateFunctionPointException {
+        double prevX;
+        if (index > 0) {
+            prevX = xValues[index - 1];
+        } else {
+            prevX = Double.NEGATIVE_INFINITY;
+        }
+
+        double nextX;
+        if (index < pointslength - 1) {
+            nextX = xValues[index + 1];
+        } else {
+            nextX = Double.POSITIVE_INFINITY;
+        }
+
+        if (x <= prevX || x >= nextX) {
+            throw new InappropriateFunctionPointException(
+                    "X=" + x + " должен быть строго между " + prevX + " и " + nextX);
+        }
+    }
+
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(xValues[index], yValues[index]);
+    }
+
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        checkIndex(index);
+        checkOrder(index, point.getX());
+
+        xValues[index] = point.getX();
+        yValues[index] = point.getY();
+        uniformGrid = false;
+        updateSlopes(index);
+    }
+
+    public double getPointX(int index) {
+        checkIndex(index);
+        return xValues[index];
+    }
+
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        checkIndex(index);
+        checkOrder(index, x);
+
+        xValues[index] = x;
+        uniformGrid = false;
+        updateSlopes(index);
+    }
+
+    public double getPointY(int index) {
+        checkIndex(index);
+        return yValues[index];
+    }
+
+    public void setPointY(int index, double y) {
+        checkIndex(index);
+        yValues[index] = y;
+        updateSlopes(index);
+    }
+
+    public void deletePoint(int index) {
+        checkIndex(index);
+
+        // проверка минимальное количество точек
+        if (pointslength <= 3) {
+            throw new IllegalStateException("Нельзя удалить точку - останется меньше 3 точек. Текущее количество: " + pointslength);
+        }
+
+        System.arraycopy(xValues, index + 1, xValues, index, pointslength - index - 1);
+        System.arraycopy(yValues, index + 1, yValues, index, pointslength - index - 1);
+        pointslength--;
+        uniformGrid = false;
+        if (slopes != null) {
+            System.arraycopy(slopes, index + 1, slopes, index, pointslength - index);
+            updateSlopes(index);
+        }
+    }
+
+    // Удаление набора точек за один проход: оставшиеся точки сдвигаются к началу массивов
+    @Override
+    public void deletePoints(boolean[] remove) {
+        int remaining = 0;
+        for (int i = 0; i < pointslength; i++) {
+            if (!remove[i]) {
+                remaining++;
+            }
+        }
+        if (remaining == pointslength) {
+            return;
+        }
+        if (remaining < 3) {
+            throw new IllegalStateException("Нельзя удалить точки - останется меньше 3 точек: " + remaining);
+        }
+
+        int k = 0;
+        for (int i = 0; i < pointslength; i++) {
+            if (!remove[i]) {
+                xValues[k] = xValues[i];
+                yValues[k] = yValues[i];
+                k++;
+            }
+        }
+        pointslength = k;
+        uniformGrid = false;
+        slopes = null;
+    }
+
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        double x = point.getX();
+
+        // Позиция вставки - первая точка с X больше добавляемого
+        int indx = 0;
+        int high = pointslength;
+        while (indx < high) {
+            int mid = (indx + high) >>> 1;
+            if (xValues[mid] < x) {
+                indx = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        // проверка: дублирование X (совпасть может только один из соседей)
+        if ((indx > 0 && ArrayTabulatedFunction.compareDouble(xValues[indx - 1], x))
+                || (indx < pointslength && ArrayTabulatedFunction.compareDouble(xValues[indx], x))) {
+            throw new InappropriateFunctionPointException("Точка с X=" + x + " уже существует");
+        }
+
+        double[] newX = new double[pointslength + 1];
+        double[] newY = new double[pointslength + 1];
+        System.arraycopy(xValues, 0, newX, 0, indx);
+        System.arraycopy(yValues, 0, newY, 0, indx);
+        newX[indx] = x;
+        newY[indx] = point.getY();
+        System.arraycopy(xValues, indx, newX, indx + 1, pointslength - indx);
+        System.arraycopy(yValues, indx, newY, indx + 1, pointslength - indx);
+        xValues = newX;
+        yValues = newY;
+        pointslength++;
+        uniformGrid = false;
+        if (slopes != null) {
+            double[] newSlopes = new double[pointslength];
+            System.arraycopy(slopes, 0, newSlopes, 0, indx);
+            System.arraycopy(slopes, indx, newSlopes, indx + 1, pointslength - 1 - indx);
+            slopes = newSlopes;
+            updateSlopes(indx);
+        }
+    }
+
+    // Добавление набора точек за один проход слияния
+    @Override
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        FunctionPoint[] batch = TabulatedFunctions.sortedDistinct(points);
+        if (batch.length == 0) {
+            return;
+        }
+
+        // проверка: дублирование X (до изменения функции)
+        int i = 0;
+        int j = 0;
+        while (i < pointslength && j < batch.length) {
+            if (ArrayTabulatedFunction.compareDouble(xValues[i], batch[j].getX())) {
+                throw new InappropriateFunctionPointException("Точка с X=" + batch[j].getX() + " уже существует");
+            }
+            if (xValues[i] < batch[j].getX()) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+
+        double[] newX = new double[pointslength + batch.length];
+        double[] newY = new double[pointslength + batch.length];
+        i = 0;
+        j = 0;
+        for (int k = 0; k < newX.length; k++) {
+            if (j == batch.length || (i < pointslength && xValues[i] < batch[j].getX())) {
+                newX[k] = xValues[i];
+                newY[k] = yValues[i];
+                i++;
+            } else {
+                newX[k] = batch[j].getX();
+                newY[k] = batch[j].getY();
+                j++;
+            }
+        }
+        xValues = newX;
+        yValues = newY;
+        pointslength = newX.length;
+        uniformGrid = false;
+        slopes = null;
+    }
+
+    @Override
+    public PointCursor cursor(int index) {
+        if (index < -1 || index > pointslength) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс курсора " + index + " выходит за границы [-1, " + pointslength + "]");
+        }
+        return new ArrayCursor(index);
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer action) {
+        for (int i = 0; i < pointslength; i++) {
+            action.accept(xValues[i], yValues[i]);
+        }
+    }
+
+    // Курсор, читающий массивы координат напрямую
+    private final class ArrayCursor implements PointCursor {
+        private int index;
+
+        ArrayCursor(int index) {
+            this.index = index;
+        }
+
+        public boolean moveNext() {
+            if (index + 1 < pointslength) {
+                index++;
+                return true;
+            }
+            index = pointslength;
+            return false;
+        }
+
+        public boolean movePrevious() {
+            if (index > 0) {
+                index--;
+                return true;
+            }
+            index = -1;
+            return false;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public double getX() {
+            checkPosition();
+            return xValues[index];
+        }
+
+        public double getY() {
+            checkPosition();
+            return yValues[index];
+        }
+
+        private void checkPosition() {
+            if (index < 0 || index >= pointslength) {
+                throw new FunctionPointIndexOutOfBoundsException("Курсор не указывает на точку: индекс " + index);
+            }
+        }
+    }
+
+    //Возвращает текстовое описание табулированной функции в формате {(x1; y1), (x2; y2), ...}
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int i = 0; i < pointslength; i++) {
+            sb.append("(").append(xValues[i])
+                    .append("; ").append(yValues[i]).append(")");
+            if (i < pointslength - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    //Сравнивает две табулированные функции на равенство
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null) return false;
+
+        // Если объект является DoubleArrayTabulatedFunction, сравниваем массивы напрямую
+        if (o instanceof DoubleArrayTabulatedFunction) {
+            DoubleArrayTabulatedFunction other = (DoubleArrayTabulatedFunction) o;
+
+            if (this.pointslength != other.pointslength) {
+                return false;
+            }
+
+            for (int i = 0; i < pointslength; i++) {
+                if (!ArrayTabulatedFunction.compareDouble(this.xValues[i], other.xValues[i])
+                        || !ArrayTabulatedFunction.compareDouble(this.yValues[i], other.yValues[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Если объект реализует TabulatedFunction, сравниваем за один проход курсором
+        if (o instanceof TabulatedFunction) {
+            TabulatedFunction other = (TabulatedFunction) o;
+
+            if (this.pointslength != other.getPointsCount()) {
+                return false;
+            }
+
+            PointCursor cursor = other.cursor();
+            for (int i = 0; i < pointslength; i++) {
+                cursor.moveNext();
+                if (!ArrayTabulatedFunction.compareDouble(this.xValues[i], cursor.getX())
+                        || !ArrayTabulatedFunction.compareDouble(this.yValues[i], cursor.getY())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    //Вычисляет хэш-код табулированной функции (совпадает с хэш-кодом ArrayTabulatedFunction с теми же точками)
+
+    @Override
+    public int hashCode() {
+        int hash = pointslength;
+
+        // XOR хэш-кодов всех точек, вычисленных так же, как в FunctionPoint
+        for (int i = 0; i < pointslength; i++) {
+            long xBits = Double.doubleToLongBits(xValues[i]);
+            long yBits = Double.doubleToLongBits(yValues[i]);
+            hash ^= (int) (xBits ^ (xBits >>> 32)) ^ (int) (yBits ^ (yBits >>> 32));
+        }
+
+        return hash;
+    }
+
+    //Создает глубокую копию табулированной функции
+
+    @Override
+    public Object clone() {
+        try {
+            DoubleArrayTabulatedFunction cloned = (DoubleArrayTabulatedFunction) super.clone();
+            cloned.xValues = this.xValues.clone();
+            cloned.yValues = this.yValues.clone();
+            if (slopes != null) {
+                cloned.slopes = slopes.clone();
+            }
+            return cloned;
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException("Ошибка при клонировании объекта DoubleArrayTabulatedFunction", e);
+        }
+    }
+
+    // Сериализация через SerialForm, как у ArrayTabulatedFunction: записываются только занятые
+    // элементы массивов (без свободного хвоста емкости), абсциссы равномерной сетки не записываются
+    private Object writeReplace() {
+        return new SerialForm(this);
+    }
+
+    // Объект, прочитанный из потока в прежнем формате
+    private Object readResolve() throws ObjectStreamException {
+        if (xValues == null || yValues == null || pointslength < 2
+                || pointslength > xValues.length || pointslength > yValues.length) {
+            throw new InvalidObjectException("Некорректное количество точек " + pointslength);
+        }
+        if (interpolation == null) {
+            interpolation = Interpolation.LINEAR;
+        }
+        return this;
+    }
+
+    private static final class SerialForm implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        // Абсциссы (null для равномерной сетки leftX + gridStep * i) и ординаты точек
+        private final double[] xValues;
+        private final double[] yValues;
+        private final double leftX;
+        private final double gridStep;
+        private final Interpolation interpolation;
+
+        SerialForm(DoubleArrayTabulatedFunction function) {
+            int pointsCount = function.pointslength;
+            xValues = function.uniformGrid ? null : Arrays.copyOf(function.xValues, pointsCount);
+            yValues = Arrays.copyOf(function.yValues, pointsCount);
+            leftX = function.xValues[0];
+            gridStep = function.gridStep;
+            interpolation = function.interpolation;
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+            if (yValues == null || interpolation == null) {
+                throw new InvalidObjectException("Неполные данные табулированной функции");
+            }
+            double[] xs = xValues;
+            if (xs == null) {
+                xs = new double[yValues.length];
+                for (int i = 0; i < xs.length; i++) {
+                    xs[i] = leftX + gridStep * i;
+                }
+            }
+            try {
+                DoubleArrayTabulatedFunction function = new DoubleArrayTabulatedFunction(xs, yValues);
+                function.uniformGrid = xValues == null;
+                function.gridStep = gridStep;
+                function.interpolation = interpolation;
+                return function;
+            } catch (IllegalArgumentException e) {
+                InvalidObjectException invalid = new InvalidObjectException(e.getMessage());
+                invalid.initCause(e);
+                throw invalid;
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package functions;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigInteger;
+
+// Буферизованное чтение чисел из текста без создания объектов на каждое число.
+// Числа разделяются пробельными символами, запятыми или точками с запятой.
+// Поддерживаются знак, дробная часть, экспонента (1.5E-7), а также NaN и Infinity.
+//
+// Числа до 15 значащих цифр с десятичным порядком не больше 22 по модулю переводятся
+// одним точным умножением или делением на степень 10, поэтому результат округлен верно.
+// Остальные (например, 17-значные из Double.toString) переводятся алгоритмом Эйзеля - Лемира:
+// мантисса до 19 цифр умножается на 128-битное приближение 5^q из таблицы, и по старшим битам
+// произведения однозначно определяется верно округленный double. Double.parseDouble
+// по накопленным символам остается для NaN, Infinity, денормализованных чисел и редких
+// случаев, когда старших битов не хватает (более 19 цифр на границе округления).
+final class DoubleTextReader {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    // Наибольшая мантисса, представимая в double без потерь (2^53)
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    // Значащих цифр в 64-битной мантиссе без знака (10^19 < 2^64)
+    private static final int MAX_MANTISSA_DIGITS = 19;
+
+    // Диапазон десятичных порядков таблицы степеней 5: за его пределами
+    // любое число из 19 цифр переполняется или обращается в 0
+    private static final int MIN_POWER = -342;
+    private static final int MAX_POWER = 308;
+
+    // Точные степени 10, представимые в double
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final Reader in;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+
+    // Символы текущего числа - для сообщений об ошибках и медленного пути разбора
+    private char[] token = new char[64];
+    private int tokenLength;
+
+    DoubleTextReader(Reader in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    DoubleTextReader(Reader in, int bufferSize) {
+        this.in = in;
+        this.buffer = new char[bufferSize];
+    }
+
+    // Следующий символ без его извлечения или -1 в конце потока
+    private int peek() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position];
+    }
+
+    private static boolean isSeparator(int c) {
+        return c <= ' ' || c == ',' || c == ';';
+    }
+
+    // Читает очередное число как целое
+    int nextInt() throws IOException {
+        double value = nextDouble();
+        if (value != (int) value) {
+            throw new IOException("Ожидалось целое число, прочитано \"" + new String(token, 0, tokenLength) + "\"");
+        }
+        return (int) value;
+    }
+
+    // Читает очередное число
+    double nextDouble() throws IOException {
+        // Пропуск разделителей
+        int c = peek();
+        while (c != -1 && isSeparator(c)) {
+            position++;
+            c = peek();
+        }
+        if (c == -1) {
+            throw new EOFException("Неожиданный конец данных: ожидалось число");
+        }
+
+        // Сбор символов числа до разделителя
+        tokenLength = 0;
+        while (c != -1 && !isSeparator(c)) {
+            if (tokenLength == token.length) {
+                char[] bigger = new char[token.length * 2];
+                System.arraycopy(token, 0, bigger, 0, tokenLength);
+                token = bigger;
+            }
+            token[tokenLength++] = (char) c;
+            position++;
+            c = peek();
+        }
+
+        return parseToken();
+    }
+
+    private double parseToken() throws IOException {
+        int i = 0;
+        boolean negative = false;
+        if (token[0] == '-' || token[0] == '+') {
+            negative = token[0] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;         // значащие цифры в мантиссе
+        int exponent = 0;       // десятичный порядок мантиссы
+        boolean anyDigits = false;
+        boolean exact = true;   // все значащие цифры поместились в мантиссу
+
+        // Целая часть
+        while (i < tokenLength && token[i] >= '0' && token[i] <= '9') {
+            anyDigits = true;
+            int d = token[i++] - '0';
+            if (digits < MAX_MANTISSA_DIGITS) {
+                if (mantissa != 0 || d != 0) {
+                    mantissa = mantissa * 10 + d;
+                    digits++;
+                }
+            } else {
+                exponent++;
+                exact &= d == 0;
+            }
+        }
+
+        // Дробная часть
+        if (i < tokenLength && token[i] == '.') {
+            i++;
+            while (i < tokenLength && token[i] >= '0' && token[i] <= '9') {
+                anyDigits = true;
+                int d = token[i++] - '0';
+                if (digits < MAX_MANTISSA_DIGITS) {
+                    if (mantissa != 0 || d != 0) {
+                        mantissa = mantissa * 10 + d;
+                        digits++;
+                    }
+                    exponent--;
+                } else {
+                    exact &= d == 0;
+                }
+            }
+        }
+
+        if (!anyDigits) {
+            return parseSlow();
+        }
+
+        // Экспонента
+        if (i < tokenLength && (token[i] == 'e' || token[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < tokenLength && (token[i] == '-' || token[i] == '+')) {
+                negativeExponent = token[i] == '-';
+                i++;
+            }
+            if (i == tokenLength) {
+                throw malformed();
+            }
+            int value = 0;
+            while (i < tokenLength && token[i] >= '0' && token[i] <= '9') {
+                if (value < 100_000) {
+                    value = value * 10 + (token[i] - '0');
+                }
+                i++;
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+
+        if (i != tokenLength) {
+            throw malformed();
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+
+        // Быстрый путь: мантисса и степень 10 точно представимы, единственное округление верное
+        // (мантисса из 19 цифр может быть больше Long.MAX_VALUE, поэтому сравнение беззнаковое)
+        if (exact && Long.compareUnsigned(mantissa, MAX_EXACT_MANTISSA) < 0 && exponent >= -22 && exponent <= 22) {
+            double value = exponent >= 0
+                    ? mantissa * POWERS_OF_TEN[exponent]
+                    : mantissa / POWERS_OF_TEN[-exponent];
+            return negative ? -value : value;
+        }
+
+        double value = eiselLemire(mantissa, exponent);
+        if (!exact && !Double.isNaN(value)) {
+            // Отброшенные цифры: значение лежит между mantissa и mantissa + 1 единиц порядка,
+            // ответ верен, если обе границы округляются одинаково
+            if (value != eiselLemire(mantissa + 1, exponent)) {
+                value = Double.NaN;
+            }
+        }
+        if (Double.isNaN(value)) {
+            return parseSlow();
+        }
+        return negative ? -value : value;
+    }
+
+    // Верно округленное значение w * 10^q (w - ненулевое 64-битное число без знака)
+    // или NaN, если результат нельзя получить этим методом (денормализованные числа,
+    // неоднозначное округление)
+    private static double eiselLemire(long w, int q) {
+        if (q < MIN_POWER) {
+            return 0.0;
+        }
+        if (q > MAX_POWER) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        // Нормализация: старший бит w - 63-й
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+
+        // Старшие 128 бит произведения w на 128-битное приближение 5^q. Младшая половина
+        // таблицы нужна, только если от нее могут зависеть 55 старших битов
+        int index = 2 * (q - MIN_POWER);
+        long high = unsignedMultiplyHigh(w, PowersOfFive.TABLE[index]);
+        long low = w * PowersOfFive.TABLE[index];
+        final long precisionMask = 0xFFFFFFFFFFFFFFFFL >>> 55;
+        if ((high & precisionMask) == precisionMask) {
+            long secondHigh = unsignedMultiplyHigh(w, PowersOfFive.TABLE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+        // Приближение может не определять округление вне диапазона, где 5^q представлено точно
+        if (low == 0xFFFFFFFFFFFFFFFFL && (q < -27 || q > 55)) {
+            return Double.NaN;
+        }
+
+        // 54 старших бита (53 бита мантиссы и бит округления) и двоичный порядок
+        int upperBit = (int) (high >>> 63);
+        long mantissa = high >>> (upperBit + 9);
+        int power2 = (int) (((217706L * q) >> 16) + 63) + upperBit - lz + 1023;
+        if (power2 <= 0) {
+            return Double.NaN;
+        }
+
+        // Точно посередине между двумя double - округление к четному
+        if (Long.compareUnsigned(low, 1) <= 0 && q >= -4 && q <= 23 && (mantissa & 3) == 1
+                && mantissa << (upperBit + 9) == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= 1L << 53) {
+            // Округление вверх перешло к следующей степени 2
+            mantissa = 1L << 52;
+            power2++;
+        }
+        mantissa &= ~(1L << 52);
+        if (power2 >= 0x7FF) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Double.longBitsToDouble((long) power2 << 52 | mantissa);
+    }
+
+    // Старшие 64 бита произведения двух 64-битных чисел без знака
+    private static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    // 128-битные приближения 5^q для q из [MIN_POWER, MAX_POWER], нормализованные так, что
+    // старший бит - 127-й: TABLE[2 * (q - MIN_POWER)] - старшие 64 бита, следующий элемент -
+    // младшие. Для q >= 0 - усечение 5^q, для q < 0 - 2^b / 5^-q с округлением вверх.
+    // Таблица вычисляется при первом обращении к медленному пути
+    private static final class PowersOfFive {
+        static final long[] TABLE = build();
+
+        private static long[] build() {
+            long[] table = new long[2 * (MAX_POWER - MIN_POWER + 1)];
+            BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+            for (int q = MIN_POWER; q <= MAX_POWER; q++) {
+                BigInteger c;
+                if (q < 0) {
+                    BigInteger power5 = BigInteger.valueOf(5).pow(-q);
+                    int z = power5.bitLength();
+                    int b = q >= -27 ? z + 127 : 2 * z + 128;
+                    c = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+                } else {
+                    c = BigInteger.valueOf(5).pow(q);
+                }
+                // Старший бит - на 127-ю позицию (лишние младшие биты отбрасываются)
+                c = c.shiftLeft(Math.max(0, 128 - c.bitLength())).shiftRight(Math.max(0, c.bitLength() - 128));
+                int index = 2 * (q - MIN_POWER);
+                table[index] = c.shiftRight(64).longValue();
+                table[index + 1] = c.and(mask).longValue();
+            }
+            return table;
+        }
+    }
+
+    // Медленный путь для NaN, Infinity, денормализованных чисел и неоднозначных случаев
+    private double parseSlow() throws IOException {
+        try {
+            return Double.parseDouble(new String(token, 0, tokenLength));
+        } catch (NumberFormatException e) {
+            throw malformed();
+        }
+    }
+
+    private IOException malformed() {
+        return new IOException("Некорректное число \"" + new String(token, 0, tokenLength) + "\"");
+    }
+}
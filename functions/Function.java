@@ -12,4 +12,29 @@ public interface Function {
 
     // Возвращает значение функции в заданной точке
     double getFunctionValue(double x);
+
+    // Вычисляет значения функции во всех точках массива xs и записывает их в values.
+    // Длина values должна быть не меньше длины xs, массивы xs и values могут совпадать
+    default void getFunctionValues(double[] xs, double[] values) {
+        for (int i = 0; i < xs.length; i++) {
+            values[i] = getFunctionValue(xs[i]);
+        }
+    }
+
+    // Вычисляет значения функции в values.length равноотстоящих точках отрезка [leftX, rightX]
+    // (точки вычисляются так же, как в TabulatedFunctions.tabulate)
+    default void getFunctionValues(double leftX, double rightX, double[] values) {
+        if (values.length == 0) {
+            return;
+        }
+        if (values.length == 1) {
+            values[0] = leftX;
+        } else {
+            double step = (rightX - leftX) / (values.length - 1);
+            for (int i = 0; i < values.length; i++) {
+                values[i] = leftX + i * step;
+            }
+        }
+        getFunctionValues(values, values);
+    }
 }
\ No newline at end of file
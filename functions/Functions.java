@@ -1,5 +1,6 @@
 package functions;
 
+import functions.derivative.Derivatives;
 import functions.meta.*;
 
 public final class Functions {
@@ -35,4 +36,24 @@ public final class Functions {
     public static Function composition(Function f1, Function f2) {
         return new Composition(f1, f2);
     }
+
+    // Возвращает функцию, запоминающую не более capacity последних используемых значений исходной
+    public static Function cache(Function f, int capacity) {
+        return new Cached(f, capacity);
+    }
+
+    // То же, но аргумент предварительно округляется до кратного quantum
+    public static Function cache(Function f, int capacity, double quantum) {
+        return new Cached(f, capacity, quantum);
+    }
+
+    // Возвращает функцию, скомпилированную из дерева исходной в плоскую программу
+    public static Function compile(Function f) {
+        return new CompiledFunction(f);
+    }
+
+    // Возвращает производную функции (см. Derivatives.derivative)
+    public static Function derivative(Function f) {
+        return Derivatives.derivative(f);
+    }
 }
\ No newline at end of file
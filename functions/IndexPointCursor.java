@@ -0,0 +1,48 @@
+package functions;
+
+// Курсор по индексам точек для реализаций, не имеющих собственного курсора
+final class IndexPointCursor implements PointCursor {
+
+    private final TabulatedFunction function;
+    private int index;
+
+    IndexPointCursor(TabulatedFunction function, int index) {
+        int pointsCount = function.getPointsCount();
+        if (index < -1 || index > pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс курсора " + index + " выходит за границы [-1, " + pointsCount + "]");
+        }
+        this.function = function;
+        this.index = index;
+    }
+
+    public boolean moveNext() {
+        int pointsCount = function.getPointsCount();
+        if (index + 1 < pointsCount) {
+            index++;
+            return true;
+        }
+        index = pointsCount;
+        return false;
+    }
+
+    public boolean movePrevious() {
+        if (index > 0) {
+            index--;
+            return true;
+        }
+        index = -1;
+        return false;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public double getX() {
+        return function.getPointX(index);
+    }
+
+    public double getY() {
+        return function.getPointY(index);
+    }
+}
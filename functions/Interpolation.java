@@ -0,0 +1,204 @@
+package functions;
+
+// Способ интерполяции табулированной функции между узлами.
+//
+// Все способы, кроме линейного, - кубические эрмитовы: на интервале [x(i); x(i+1)]
+// функция - кубический многочлен, принимающий в узлах заданные значения y(i), y(i+1)
+// и имеющий в них наклоны (производные) d(i), d(i+1). Способы различаются выбором наклонов,
+// которые вычисляются один раз и хранятся в массиве double.
+public enum Interpolation {
+
+    // Ломаная через узлы
+    LINEAR {
+        void computeSlopes(InterpolationNodes nodes, int pointsCount, double[] slopes, int from, int to) {
+        }
+
+        int radius() {
+            return 0;
+        }
+    },
+
+    // Естественный кубический сплайн: непрерывна вторая производная, на концах она равна нулю.
+    // Наклоны - решение трехдиагональной системы, поэтому зависят от всех узлов сразу
+    NATURAL_CUBIC_SPLINE {
+        void computeSlopes(InterpolationNodes nodes, int pointsCount, double[] slopes, int from, int to) {
+            int n = pointsCount;
+            if (n == 2) {
+                double secant = secant(nodes, 0);
+                slopes[0] = secant;
+                slopes[1] = secant;
+                return;
+            }
+
+            // Уравнения для наклонов (h - длины интервалов, s - наклоны хорд):
+            //   2 d(0) + d(1) = 3 s(0)
+            //   h(i) d(i-1) + 2 (h(i-1) + h(i)) d(i) + h(i-1) d(i+1) = 3 (h(i) s(i-1) + h(i-1) s(i))
+            //   d(n-2) + 2 d(n-1) = 3 s(n-2)
+            // Прямой ход прогонки: в slopes - правые части, в factors - измененные наддиагональные коэффициенты
+            double[] factors = new double[n];
+            double hPrev = nodes.x(1) - nodes.x(0);
+            double sPrev = (nodes.y(1) - nodes.y(0)) / hPrev;
+            factors[0] = 0.5;
+            slopes[0] = 1.5 * sPrev;
+            for (int i = 1; i < n - 1; i++) {
+                double h = nodes.x(i + 1) - nodes.x(i);
+                double s = (nodes.y(i + 1) - nodes.y(i)) / h;
+                double diagonal = 2 * (hPrev + h) - h * factors[i - 1];
+                factors[i] = hPrev / diagonal;
+                slopes[i] = (3 * (h * sPrev + hPrev * s) - h * slopes[i - 1]) / diagonal;
+                hPrev = h;
+                sPrev = s;
+            }
+            slopes[n - 1] = (3 * sPrev - slopes[n - 2]) / (2 - factors[n - 2]);
+
+            // Обратный ход
+            for (int i = n - 2; i >= 0; i--) {
+                slopes[i] -= factors[i] * slopes[i + 1];
+            }
+        }
+
+        int radius() {
+            return -1;
+        }
+    },
+
+    // Монотонный кубический эрмитов сплайн (PCHIP, Фрич - Карлсон): не дает выбросов,
+    // на участках монотонности данных интерполянт монотонен. Наклон в узле зависит от соседних узлов
+    PCHIP {
+        void computeSlopes(InterpolationNodes nodes, int pointsCount, double[] slopes, int from, int to) {
+            int n = pointsCount;
+            for (int i = from; i < to; i++) {
+                if (n == 2) {
+                    slopes[i] = secant(nodes, 0);
+                } else if (i == 0) {
+                    slopes[i] = pchipEndSlope(nodes.x(1) - nodes.x(0), nodes.x(2) - nodes.x(1),
+                            secant(nodes, 0), secant(nodes, 1));
+                } else if (i == n - 1) {
+                    slopes[i] = pchipEndSlope(nodes.x(n - 1) - nodes.x(n - 2), nodes.x(n - 2) - nodes.x(n - 3),
+                            secant(nodes, n - 2), secant(nodes, n - 3));
+                } else {
+                    double hPrev = nodes.x(i) - nodes.x(i - 1);
+                    double h = nodes.x(i + 1) - nodes.x(i);
+                    double sPrev = secant(nodes, i - 1);
+                    double s = secant(nodes, i);
+                    if (sPrev * s <= 0) {
+                        // Экстремум данных - горизонтальная касательная
+                        slopes[i] = 0;
+                    } else {
+                        // Взвешенное гармоническое среднее наклонов хорд
+                        double w1 = 2 * h + hPrev;
+                        double w2 = h + 2 * hPrev;
+                        slopes[i] = (w1 + w2) / (w1 / sPrev + w2 / s);
+                    }
+                }
+            }
+        }
+
+        int radius() {
+            // Крайние наклоны зависят от трех узлов у конца
+            return 2;
+        }
+    },
+
+    // Сплайн Акимы: наклон в узле - взвешенное среднее наклонов соседних хорд,
+    // веса гасят влияние выбросов, поэтому кривая не колеблется возле резких изменений.
+    // Наклон в узле зависит от двух узлов с каждой стороны
+    AKIMA {
+        void computeSlopes(InterpolationNodes nodes, int pointsCount, double[] slopes, int from, int to) {
+            int n = pointsCount;
+            for (int i = from; i < to; i++) {
+                if (n == 2) {
+                    slopes[i] = secant(nodes, 0);
+                    continue;
+                }
+                double m1 = akimaSecant(nodes, n, i - 2);
+                double m2 = akimaSecant(nodes, n, i - 1);
+                double m3 = akimaSecant(nodes, n, i);
+                double m4 = akimaSecant(nodes, n, i + 1);
+                double w1 = Math.abs(m4 - m3);
+                double w2 = Math.abs(m2 - m1);
+                slopes[i] = w1 + w2 == 0 ? (m2 + m3) / 2 : (w1 * m2 + w2 * m3) / (w1 + w2);
+            }
+        }
+
+        int radius() {
+            return 2;
+        }
+    };
+
+    // Вычисляет наклоны в узлах с индексами [from, to). Способ с radius() == -1
+    // всегда пересчитывает все наклоны, не обращая внимания на диапазон
+    abstract void computeSlopes(InterpolationNodes nodes, int pointsCount, double[] slopes, int from, int to);
+
+    // На сколько узлов в каждую сторону влияет изменение одной ординаты; -1 - на все
+    abstract int radius();
+
+    // Наклоны в узлах (xs[i]; ys[i]) для интерполяции этим способом (для линейной - нули).
+    // Абсциссы должны возрастать, узлов - не меньше двух
+    public double[] computeSlopes(double[] xs, double[] ys) {
+        double[] slopes = new double[xs.length];
+        computeSlopes(new InterpolationNodes() {
+            public double x(int i) {
+                return xs[i];
+            }
+
+            public double y(int i) {
+                return ys[i];
+            }
+        }, xs.length, slopes, 0, xs.length);
+        return slopes;
+    }
+
+    // Наклон хорды [x(i); x(i+1)]
+    private static double secant(InterpolationNodes nodes, int i) {
+        return (nodes.y(i + 1) - nodes.y(i)) / (nodes.x(i + 1) - nodes.x(i));
+    }
+
+    // Наклон крайнего узла PCHIP по трем точкам с сохранением формы
+    private static double pchipEndSlope(double h0, double h1, double s0, double s1) {
+        double slope = ((2 * h0 + h1) * s0 - h0 * s1) / (h0 + h1);
+        if (Math.signum(slope) != Math.signum(s0)) {
+            return 0;
+        }
+        if (Math.signum(s0) != Math.signum(s1) && Math.abs(slope) > Math.abs(3 * s0)) {
+            return 3 * s0;
+        }
+        return slope;
+    }
+
+    // Наклон хорды с индексом j; за пределами таблицы хорды продолжаются линейно
+    private static double akimaSecant(InterpolationNodes nodes, int n, int j) {
+        if (j < 0) {
+            double m0 = secant(nodes, 0);
+            double m1 = secant(nodes, 1);
+            // m(-1) = 2 m(0) - m(1), m(-2) = 2 m(-1) - m(0)
+            return j == -1 ? 2 * m0 - m1 : 3 * m0 - 2 * m1;
+        }
+        if (j > n - 2) {
+            double m0 = secant(nodes, n - 2);
+            double m1 = secant(nodes, n - 3);
+            return j == n - 1 ? 2 * m0 - m1 : 3 * m0 - 2 * m1;
+        }
+        return secant(nodes, j);
+    }
+
+    // Значение кубического эрмитова многочлена с концами (x0; y0), (x1; y1) и наклонами d0, d1 в точке x
+    static double hermite(double x0, double y0, double d0, double x1, double y1, double d1, double x) {
+        double h = x1 - x0;
+        double t = (x - x0) / h;
+        double secant = (y1 - y0) / h;
+        double c2 = 3 * secant - 2 * d0 - d1;
+        double c3 = d0 + d1 - 2 * secant;
+        return y0 + t * h * (d0 + t * (c2 + t * c3));
+    }
+
+    // Производная того же многочлена в точке x
+    public static double hermiteSlope(double x0, double y0, double d0, double x1, double y1, double d1, double x) {
+        double h = x1 - x0;
+        double t = (x - x0) / h;
+        double secant = (y1 - y0) / h;
+        double c2 = 3 * secant - 2 * d0 - d1;
+        double c3 = d0 + d1 - 2 * secant;
+        return d0 + t * (2 * c2 + t * 3 * c3);
+    }
+}
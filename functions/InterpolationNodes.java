@@ -0,0 +1,7 @@
+package functions;
+
+// Доступ к координатам узлов для вычисления наклонов интерполяции
+interface InterpolationNodes {
+    double x(int i);
+    double y(int i);
+}
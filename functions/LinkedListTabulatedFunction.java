@@ -1,9 +1,15 @@
 package functions;
 
 import java.io.*;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class LinkedListTabulatedFunction implements TabulatedFunction, Externalizable, Cloneable{
 
+    // Вычислен для исходной версии класса, чтобы потоки в прежнем формате
+    // (без способа интерполяции) читались и после изменения класса
+    private static final long serialVersionUID = -1852622708772034631L;
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -61,13 +67,13 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
                 return false;
             }
 
-            // Сравнение каждой точки через getPoint
+            // Сравнение каждой точки за один проход курсором, без копий точек
             FunctionNode current = head.getNext();
+            PointCursor cursor = other.cursor();
             for (int i = 0; i < size; i++) {
-                FunctionPoint thisPoint = current.getPoint();
-                FunctionPoint otherPoint = other.getPoint(i);
-
-                if (!thisPoint.equals(otherPoint)) {
+                cursor.moveNext();
+                if (!TabulatedFunction.compareDouble(current.getPoint().getX(), cursor.getX())
+                        || !TabulatedFunction.compareDouble(current.getPoint().getY(), cursor.getY())) {
                     return false;
                 }
                 current = current.getNext();
@@ -121,6 +127,9 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
             // Сбрасываем кэш
             cloned.lastAccessedNode = cloned.head;
             cloned.lastAccessedIndex = -1;
+            if (slopes != null) {
+                cloned.slopes = slopes.clone();
+            }
 
             return cloned;
         } catch (CloneNotSupportedException e) {
@@ -133,16 +142,21 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         private FunctionNode prev;
         private FunctionNode next;
 
-        public FunctionNode(FunctionPoint point) {
-            this.point = point;
-            this.prev = null;
-            this.next = null;
+        // Ссылки верхних уровней списка с пропусками: skipNext[l - 1] - следующий узел уровня l,
+        // skipWidth[l - 1] - на сколько позиций он дальше текущего
+        private final FunctionNode[] skipNext;
+        private final int[] skipWidth;
+
+        public FunctionNode(FunctionPoint point, int level) {
+            this(point, null, null, level);
         }
 
-        public FunctionNode(FunctionPoint point, FunctionNode prev, FunctionNode next) {
+        public FunctionNode(FunctionPoint point, FunctionNode prev, FunctionNode next, int level) {
             this.point = point;
             this.prev = prev;
             this.next = next;
+            this.skipNext = new FunctionNode[level];
+            this.skipWidth = new int[level];
         }
 
         // Геттеры и сеттеры
@@ -171,11 +185,23 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         }
     }
 
+    // Максимальное число уровней списка с пропусками (хватает на 2^32 элементов)
+    private static final int MAX_LEVEL = 32;
+
+    // Расстояние от последнего доступного элемента, которое выгоднее пройти по списку, чем искать по уровням
+    private static final int SEQUENTIAL_ACCESS_DISTANCE = 8;
+
     // Поля основного класса
     private FunctionNode head; // голова списка
     private FunctionNode lastAccessedNode; // кэш для быстроты доступа
     private int lastAccessedIndex; // индекс последнего доступного элемента
     private int size; // количество значащих элементов
+    private int topLevel; // верхний занятый уровень списка с пропусками
+
+    // Способ интерполяции и наклоны в узлах по индексам точек (null, пока не вычислены),
+    // как у DoubleArrayTabulatedFunction
+    private Interpolation interpolation = Interpolation.LINEAR;
+    private double[] slopes;
 
 
     public LinkedListTabulatedFunction() {
@@ -247,6 +273,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
             out.writeDouble(current.getPoint().getY());
             current = current.getNext();
         }
+        out.writeUTF(interpolation.name());
     }
 
     @Override
@@ -260,16 +287,120 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
             double y = in.readDouble();
             addNodeToTail().setPoint(new FunctionPoint(x, y));
         }
+
+        // В потоке прежнего формата способа интерполяции нет
+        try {
+            interpolation = Interpolation.valueOf(in.readUTF());
+        } catch (EOFException e) {
+            interpolation = Interpolation.LINEAR;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidObjectException("Неизвестный способ интерполяции: " + e.getMessage());
+        }
+        slopes = null;
     }
 
     // Инициализация пустого списка с головой
     private void initializeList() {
-        head = new FunctionNode(null);
+        head = new FunctionNode(null, MAX_LEVEL);
         head.setPrev(head);
         head.setNext(head);
         size = 0;
+        topLevel = 0;
+        lastAccessedNode = head;
+        lastAccessedIndex = -1;
+    }
+
+    // Случайный уровень нового узла: уровень l выпадает с вероятностью 1 / 2^l
+    private static int randomLevel() {
+        int level = Integer.numberOfTrailingZeros(~ThreadLocalRandom.current().nextInt());
+        return Math.min(level, MAX_LEVEL);
+    }
+
+    // Находит на каждом уровне последний узел с индексом меньше index.
+    // update[l] и updatePos[l] - узел и его индекс на уровне l (голова имеет индекс -1),
+    // на нулевом уровне это узел с индексом index - 1
+    private void findPredecessors(int index, FunctionNode[] update, int[] updatePos) {
+        FunctionNode current = head;
+        int pos = -1;
+
+        for (int l = MAX_LEVEL; l >= 1; l--) {
+            if (l <= topLevel) {
+                while (current.skipNext[l - 1] != null && pos + current.skipWidth[l - 1] < index) {
+                    pos += current.skipWidth[l - 1];
+                    current = current.skipNext[l - 1];
+                }
+            }
+            update[l] = current;
+            updatePos[l] = pos;
+        }
+
+        while (pos < index - 1) {
+            current = current.getNext();
+            pos++;
+        }
+        update[0] = current;
+        updatePos[0] = pos;
+    }
+
+    // Находит на каждом уровне последний узел с X меньше x (аналогично findPredecessors)
+    private void findPredecessorsByX(double x, FunctionNode[] update, int[] updatePos) {
+        FunctionNode current = head;
+        int pos = -1;
+
+        for (int l = MAX_LEVEL; l >= 1; l--) {
+            if (l <= topLevel) {
+                while (current.skipNext[l - 1] != null && current.skipNext[l - 1].getPoint().getX() < x) {
+                    pos += current.skipWidth[l - 1];
+                    current = current.skipNext[l - 1];
+                }
+            }
+            update[l] = current;
+            updatePos[l] = pos;
+        }
+
+        while (current.getNext() != head && current.getNext().getPoint().getX() < x) {
+            current = current.getNext();
+            pos++;
+        }
+        update[0] = current;
+        updatePos[0] = pos;
+    }
+
+    // Вставляет новый узел на позицию index после найденных предшественников
+    private FunctionNode insertNode(int index, FunctionNode[] update, int[] updatePos) {
+        int level = randomLevel();
+        FunctionNode prev = update[0];
+        FunctionNode newNode = new FunctionNode(null, prev, prev.getNext(), level);
+
+        prev.getNext().setPrev(newNode);
+        prev.setNext(newNode);
+
+        int levels = Math.max(level, topLevel);
+        for (int l = 1; l <= levels; l++) {
+            FunctionNode before = update[l];
+            if (l <= level) {
+                // Новый узел встраивается в уровень l между before и его прежним соседом
+                newNode.skipNext[l - 1] = before.skipNext[l - 1];
+                if (before.skipNext[l - 1] != null) {
+                    newNode.skipWidth[l - 1] = updatePos[l] + before.skipWidth[l - 1] + 1 - index;
+                }
+                before.skipNext[l - 1] = newNode;
+                before.skipWidth[l - 1] = index - updatePos[l];
+            } else if (before.skipNext[l - 1] != null) {
+                // Ссылка перепрыгивает через новый узел
+                before.skipWidth[l - 1]++;
+            }
+        }
+        if (level > topLevel) {
+            topLevel = level;
+        }
+        size++;
+
+        // Сбрасываем кэш, т.к. структура изменилась
         lastAccessedNode = head;
         lastAccessedIndex = -1;
+
+        return newNode;
     }
 
 
@@ -278,27 +409,31 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
             throw new FunctionPointIndexOutOfBoundsException("Индекс " + index + " выходит за границы [0, " + (size-1) + "]");
         }
 
-        // начинаем поиск с последнего доступного элемента
         FunctionNode current;
-        int startIndex;
 
-        if (lastAccessedIndex != -1 && Math.abs(index - lastAccessedIndex) < Math.min(index, size - index - 1)) {
+        if (lastAccessedIndex != -1 && Math.abs(index - lastAccessedIndex) <= SEQUENTIAL_ACCESS_DISTANCE) {
+            // Рядом с последним доступным элементом - идем по списку вперед или назад
             current = lastAccessedNode;
-            startIndex = lastAccessedIndex;
-        } else {
-            current = head.getNext();
-            startIndex = 0;
-        }
-
-        // Движение вперед или назад в зависимости от позиции
-        if (index > startIndex) {
-            for (int i = startIndex; i < index; i++) {
+            for (int i = lastAccessedIndex; i < index; i++) {
                 current = current.getNext();
             }
-        } else if (index < startIndex) {
-            for (int i = startIndex; i > index; i--) {
+            for (int i = lastAccessedIndex; i > index; i--) {
                 current = current.getPrev();
             }
+        } else {
+            // Иначе спускаемся по уровням списка с пропусками за O(log n)
+            current = head;
+            int pos = -1;
+            for (int l = topLevel; l >= 1; l--) {
+                while (current.skipNext[l - 1] != null && pos + current.skipWidth[l - 1] <= index) {
+                    pos += current.skipWidth[l - 1];
+                    current = current.skipNext[l - 1];
+                }
+            }
+            while (pos < index) {
+                current = current.getNext();
+                pos++;
+            }
         }
 
         // Сохраняем для будущих обращений
@@ -310,16 +445,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
 
     // Добавление узла в конец списка
     private FunctionNode addNodeToTail() {
-        FunctionNode newNode = new FunctionNode(null, head.getPrev(), head);
-        head.getPrev().setNext(newNode);
-        head.setPrev(newNode);
-        size++;
-
-        // Сбрасываем кэш, т.к. структура изменилась
-        lastAccessedNode = head;
-        lastAccessedIndex = -1;
-
-        return newNode;
+        return addNodeByIndex(size);
     }
 
     // Добавление узла по индексу
@@ -328,22 +454,11 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
             throw new FunctionPointIndexOutOfBoundsException("Индекс " + index + " выходит за границы [0, " + size + "]");
         }
 
-        if (index == size) {
-            return addNodeToTail();
-        }
+        FunctionNode[] update = new FunctionNode[MAX_LEVEL + 1];
+        int[] updatePos = new int[MAX_LEVEL + 1];
+        findPredecessors(index, update, updatePos);
 
-        FunctionNode nodeAtIndex = getNodeByIndex(index);
-        FunctionNode newNode = new FunctionNode(null, nodeAtIndex.getPrev(), nodeAtIndex);
-
-        nodeAtIndex.getPrev().setNext(newNode);
-        nodeAtIndex.setPrev(newNode);
-        size++;
-
-        // Сбрасываем кэш
-        lastAccessedNode = head;
-        lastAccessedIndex = -1;
-
-        return newNode;
+        return insertNode(index, update, updatePos);
     }
 
     // Удаление узла по индексу
@@ -355,10 +470,27 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
             throw new IllegalStateException("Нельзя удалить точку - останется меньше 3 точек. Текущее количество: " + size);
         }
 
-        FunctionNode nodeToDelete = getNodeByIndex(index);
+        FunctionNode[] update = new FunctionNode[MAX_LEVEL + 1];
+        int[] updatePos = new int[MAX_LEVEL + 1];
+        findPredecessors(index, update, updatePos);
+        FunctionNode nodeToDelete = update[0].getNext();
 
         nodeToDelete.getPrev().setNext(nodeToDelete.getNext());
         nodeToDelete.getNext().setPrev(nodeToDelete.getPrev());
+
+        for (int l = 1; l <= topLevel; l++) {
+            FunctionNode before = update[l];
+            if (before.skipNext[l - 1] == nodeToDelete) {
+                // Ссылка уровня l переходит на следующий за удаляемым узел
+                before.skipNext[l - 1] = nodeToDelete.skipNext[l - 1];
+                before.skipWidth[l - 1] += nodeToDelete.skipWidth[l - 1] - 1;
+            } else if (before.skipNext[l - 1] != null) {
+                before.skipWidth[l - 1]--;
+            }
+        }
+        while (topLevel > 0 && head.skipNext[topLevel - 1] == null) {
+            topLevel--;
+        }
         size--;
 
 
@@ -380,32 +512,158 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
     }
 
     public double getFunctionValue(double x) {
-        // Поиск интервала, содержащего x
-        for (int i = 0; i < size - 1; i++) {
-            FunctionNode node1 = getNodeByIndex(i);
-            FunctionNode node2 = getNodeByIndex(i + 1);
+        // Проверка границ
+        if (size < 2 || x < getLeftDomainBorder() || x > getRightDomainBorder()) {
+            return Double.NaN;
+        }
 
-            if (node1.getPoint().getX() <= x && node2.getPoint().getX() >= x) {
+        FunctionNode node = findIntervalNode(x);
+        return interpolate(node, lastAccessedIndex, x);
+    }
 
+    // Вычисляет значения во всех точках xs. Для возрастающих xs интервал не ищется заново,
+    // а сдвигается вперед от найденного для предыдущей точки
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        if (size < 2) {
+            Arrays.fill(values, 0, xs.length, Double.NaN);
+            return;
+        }
+
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        FunctionNode first = head.getNext();
+        FunctionNode node = first;
+        int index = 0;
+
+        for (int k = 0; k < xs.length; k++) {
+            double x = xs[k];
+            if (!(x >= left && x <= right)) {
+                values[k] = Double.NaN;
+                continue;
+            }
 
-                if (TabulatedFunction.compareDouble(node1.getPoint().getX(), x)) {
-                    return node1.getPoint().getY();
+            if (node != first && node.getPoint().getX() >= x) {
+                // Точка левее текущего интервала
+                node = findIntervalNode(x);
+                index = lastAccessedIndex;
+            } else {
+                int steps = 0;
+                while (node.getNext().getPoint().getX() < x) {
+                    if (++steps > SEQUENTIAL_ACCESS_DISTANCE) {
+                        node = findIntervalNode(x);
+                        index = lastAccessedIndex;
+                        break;
+                    }
+                    node = node.getNext();
+                    index++;
                 }
-                if (TabulatedFunction.compareDouble(node2.getPoint().getX(), x)) {
-                    return node2.getPoint().getY();
-                }
-
-                // Линейная интерполяция
-                double x1 = node1.getPoint().getX();
-                double y1 = node1.getPoint().getY();
-                double x2 = node2.getPoint().getX();
-                double y2 = node2.getPoint().getY();
+            }
+            values[k] = interpolate(node, index, x);
+        }
+    }
 
-                return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+    // Поиск интервала, содержащего x: первый узел, у следующего за которым X >= x.
+    // Индекс узла считается по ширинам ссылок; узел и индекс сохраняются в кэше последнего
+    // обращения, откуда индекс берется для наклонов интерполяции
+    private FunctionNode findIntervalNode(double x) {
+        FunctionNode current = head;
+        int pos = -1;
+
+        for (int l = topLevel; l >= 1; l--) {
+            while (current.skipNext[l - 1] != null && current.skipNext[l - 1].getPoint().getX() < x) {
+                pos += current.skipWidth[l - 1];
+                current = current.skipNext[l - 1];
             }
         }
 
-        return Double.NaN;
+        while (current.getNext() != head && current.getNext().getPoint().getX() < x) {
+            current = current.getNext();
+            pos++;
+        }
+        if (current == head) {
+            current = head.getNext();
+            pos = 0;
+        }
+
+        lastAccessedNode = current;
+        lastAccessedIndex = pos;
+        return current;
+    }
+
+    // Значение функции в точке x интервала, начинающегося с узла node1 с индексом index
+    private double interpolate(FunctionNode node1, int index, double x) {
+        FunctionNode node2 = node1.getNext();
+
+        if (TabulatedFunction.compareDouble(node1.getPoint().getX(), x)) {
+            return node1.getPoint().getY();
+        }
+        if (TabulatedFunction.compareDouble(node2.getPoint().getX(), x)) {
+            return node2.getPoint().getY();
+        }
+
+        double x1 = node1.getPoint().getX();
+        double y1 = node1.getPoint().getY();
+        double x2 = node2.getPoint().getX();
+        double y2 = node2.getPoint().getY();
+
+        if (interpolation == Interpolation.LINEAR) {
+            return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+        }
+        double[] d = slopes();
+        return Interpolation.hermite(x1, y1, d[index], x2, y2, d[index + 1], x);
+    }
+
+    @Override
+    public Interpolation getInterpolation() {
+        return interpolation;
+    }
+
+    // Задает способ интерполяции; наклоны будут вычислены при первом вычислении значения
+    @Override
+    public void setInterpolation(Interpolation interpolation) {
+        if (interpolation == null) {
+            throw new IllegalArgumentException("Способ интерполяции не задан");
+        }
+        this.interpolation = interpolation;
+        slopes = null;
+    }
+
+    // Наклоны в узлах для кубической интерполяции, вычисляемые при первом обращении
+    private double[] slopes() {
+        if (slopes == null) {
+            double[] computed = new double[size];
+            interpolation.computeSlopes(new Nodes(), size, computed, 0, size);
+            slopes = computed;
+        }
+        return slopes;
+    }
+
+    // Пересчет наклонов, зависящих от точки index, после изменения этой точки или ее соседей.
+    // Для локальных способов пересчитываются только ближайшие наклоны, для глобального - все при следующем обращении
+    private void updateSlopes(int index) {
+        if (slopes == null) {
+            return;
+        }
+        int radius = interpolation.radius();
+        if (radius < 0) {
+            slopes = null;
+            return;
+        }
+        interpolation.computeSlopes(new Nodes(), size, slopes,
+                Math.max(0, index - radius), Math.min(size, index + radius + 1));
+    }
+
+    // Доступ к узлам для вычисления наклонов: индексы запрашиваются подряд,
+    // поэтому узлы находятся проходом от последнего доступного
+    private final class Nodes implements InterpolationNodes {
+        public double x(int i) {
+            return getNodeByIndex(i).getPoint().getX();
+        }
+
+        public double y(int i) {
+            return getNodeByIndex(i).getPoint().getY();
+        }
     }
 
     public int getPointsCount() {
@@ -442,6 +700,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         }
 
         node.setPoint(new FunctionPoint(point));
+        updateSlopes(index);
     }
 
     public double getPointX(int index) {
@@ -472,6 +731,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         }
 
         node.setPoint(new FunctionPoint(x, node.getPoint().getY()));
+        updateSlopes(index);
     }
 
     public double getPointY(int index) {
@@ -481,30 +741,163 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
     public void setPointY(int index, double y) {
         FunctionNode node = getNodeByIndex(index);
         node.setPoint(new FunctionPoint(node.getPoint().getX(), y));
+        updateSlopes(index);
     }
 
     public void deletePoint(int index) {
         deleteNodeByIndex(index);
+        if (slopes != null) {
+            System.arraycopy(slopes, index + 1, slopes, index, size - index);
+            updateSlopes(index);
+        }
     }
 
     public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
-        // Проверка на дублирование X
-        for (int i = 0; i < size; i++) {
-            if (TabulatedFunction.compareDouble(getPointX(i), point.getX())) {
-                throw new InappropriateFunctionPointException("Точка с X=" + point.getX() + " уже существует");
+        // Поиск позиции для вставки
+        FunctionNode[] update = new FunctionNode[MAX_LEVEL + 1];
+        int[] updatePos = new int[MAX_LEVEL + 1];
+        findPredecessorsByX(point.getX(), update, updatePos);
+
+        // Проверка на дублирование X (совпасть может только один из соседей)
+        FunctionNode before = update[0];
+        FunctionNode after = before.getNext();
+        if ((before != head && TabulatedFunction.compareDouble(before.getPoint().getX(), point.getX()))
+                || (after != head && TabulatedFunction.compareDouble(after.getPoint().getX(), point.getX()))) {
+            throw new InappropriateFunctionPointException("Точка с X=" + point.getX() + " уже существует");
+        }
+
+        int index = updatePos[0] + 1;
+        FunctionNode newNode = insertNode(index, update, updatePos);
+        newNode.setPoint(new FunctionPoint(point));
+        if (slopes != null) {
+            double[] newSlopes = new double[size];
+            System.arraycopy(slopes, 0, newSlopes, 0, index);
+            System.arraycopy(slopes, index, newSlopes, index + 1, size - 1 - index);
+            slopes = newSlopes;
+            updateSlopes(index);
+        }
+    }
+
+    @Override
+    public PointCursor cursor(int index) {
+        if (index < -1 || index > size) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс курсора " + index + " выходит за границы [-1, " + size + "]");
+        }
+        return new NodeCursor(index, index == -1 || index == size ? head : getNodeByIndex(index));
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer action) {
+        for (FunctionNode current = head.getNext(); current != head; current = current.getNext()) {
+            action.accept(current.getPoint().getX(), current.getPoint().getY());
+        }
+    }
+
+    // Курсор, переходящий по ссылкам узлов; положения перед первой и после последней точки - голова списка
+    private final class NodeCursor implements PointCursor {
+        private int index;
+        private FunctionNode node;
+
+        NodeCursor(int index, FunctionNode node) {
+            this.index = index;
+            this.node = node;
+        }
+
+        public boolean moveNext() {
+            if (index + 1 < size) {
+                node = node.getNext();
+                index++;
+                return true;
             }
+            node = head;
+            index = size;
+            return false;
         }
 
-        // Поиск позиции для вставки
-        int insertIndex = size;
-        for (int i = 0; i < size; i++) {
-            if (point.getX() < getPointX(i)) {
-                insertIndex = i;
-                break;
+        public boolean movePrevious() {
+            if (index > 0) {
+                node = node.getPrev();
+                index--;
+                return true;
             }
+            node = head;
+            index = -1;
+            return false;
         }
 
-        FunctionNode newNode = addNodeByIndex(insertIndex);
-        newNode.setPoint(new FunctionPoint(point));
+        public int getIndex() {
+            return index;
+        }
+
+        public double getX() {
+            checkPosition();
+            return node.getPoint().getX();
+        }
+
+        public double getY() {
+            checkPosition();
+            return node.getPoint().getY();
+        }
+
+        private void checkPosition() {
+            if (node == head) {
+                throw new FunctionPointIndexOutOfBoundsException("Курсор не указывает на точку: индекс " + index);
+            }
+        }
+    }
+
+    // Добавление набора точек: список пересобирается за один проход слияния
+    // старых узлов с упорядоченным набором, каждый узел дописывается в хвост за O(1)
+    @Override
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        FunctionPoint[] batch = TabulatedFunctions.sortedDistinct(points);
+        if (batch.length == 0) {
+            return;
+        }
+
+        // Проверка на дублирование X (до изменения функции)
+        FunctionNode current = head.getNext();
+        int j = 0;
+        while (current != head && j < batch.length) {
+            double x = current.getPoint().getX();
+            if (TabulatedFunction.compareDouble(x, batch[j].getX())) {
+                throw new InappropriateFunctionPointException("Точка с X=" + batch[j].getX() + " уже существует");
+            }
+            if (x < batch[j].getX()) {
+                current = current.getNext();
+            } else {
+                j++;
+            }
+        }
+
+        // Старая цепочка узлов остается нетронутой, пока по ней идет слияние
+        FunctionNode oldHead = head;
+        current = oldHead.getNext();
+        initializeList();
+        slopes = null;
+
+        // Последние узлы каждого уровня - предшественники вставки в хвост
+        FunctionNode[] update = new FunctionNode[MAX_LEVEL + 1];
+        int[] updatePos = new int[MAX_LEVEL + 1];
+        Arrays.fill(update, head);
+        Arrays.fill(updatePos, -1);
+
+        j = 0;
+        while (current != oldHead || j < batch.length) {
+            FunctionPoint point;
+            if (j == batch.length || (current != oldHead && current.getPoint().getX() < batch[j].getX())) {
+                point = current.getPoint();
+                current = current.getNext();
+            } else {
+                point = new FunctionPoint(batch[j++]);
+            }
+
+            FunctionNode newNode = insertNode(size, update, updatePos);
+            newNode.setPoint(point);
+            for (int l = 0; l <= newNode.skipNext.length; l++) {
+                update[l] = newNode;
+                updatePos[l] = size - 1;
+            }
+        }
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,288 @@
+package functions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Табулированная функция только для чтения, точки которой читаются напрямую из файла,
+// отображенного в память. Открытие не читает точки и не расходует на них память кучи.
+//
+// Формат файла (все числа big-endian, см. TabulatedFunctions.writeBinaryTabulatedFunction):
+//   int    MAGIC          - сигнатура "TABF"
+//   int    VERSION        - версия формата
+//   int    количество точек
+//   int    флаги          - бит FLAG_UNIFORM: сетка по X равномерная
+//   double левая граница
+//   double правая граница
+//   double[количество]    - абсциссы (отсутствуют для равномерной сетки)
+//   double[количество]    - ординаты
+public class MappedTabulatedFunction implements TabulatedFunction, Cloneable {
+
+    public static final int MAGIC = 0x54414246;
+    public static final int VERSION = 1;
+    public static final int FLAG_UNIFORM = 1;
+    public static final int HEADER_SIZE = 32;
+
+    // Файл отображается частями по 2^27 чисел (1 ГБ), т.к. один буфер ограничен 2 ГБ
+    private static final int CHUNK_SHIFT = 27;
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+    private final int pointsCount;
+    private final boolean uniformGrid;
+    private final double leftX;
+    private final double rightX;
+    private final double gridStep;
+    private final DoubleBuffer[] xChunks;
+    private final DoubleBuffer[] yChunks;
+
+    public MappedTabulatedFunction(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Файл " + file + " слишком короткий для заголовка табулированной функции");
+                }
+            }
+            header.flip();
+
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Файл " + file + " не содержит табулированную функцию");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Неподдерживаемая версия формата " + version);
+            }
+            pointsCount = header.getInt();
+            int flags = header.getInt();
+            leftX = header.getDouble();
+            rightX = header.getDouble();
+
+            if (pointsCount < 2) {
+                throw new IOException("Количество точек " + pointsCount + " < 2");
+            }
+
+            uniformGrid = (flags & FLAG_UNIFORM) != 0;
+            gridStep = (rightX - leftX) / (pointsCount - 1);
+
+            long columnSize = (long) pointsCount * Double.BYTES;
+            long expectedSize = HEADER_SIZE + (uniformGrid ? columnSize : 2 * columnSize);
+            if (channel.size() < expectedSize) {
+                throw new IOException("Размер файла " + channel.size() + " меньше ожидаемого " + expectedSize);
+            }
+
+            long offset = HEADER_SIZE;
+            if (uniformGrid) {
+                xChunks = null;
+            } else {
+                xChunks = mapColumn(channel, offset);
+                offset += columnSize;
+            }
+            yChunks = mapColumn(channel, offset);
+        }
+    }
+
+    // Отображает столбец из pointsCount чисел, начиная с позиции offset
+    private DoubleBuffer[] mapColumn(FileChannel channel, long offset) throws IOException {
+        int chunks = ((pointsCount - 1) >>> CHUNK_SHIFT) + 1;
+        DoubleBuffer[] column = new DoubleBuffer[chunks];
+        for (int c = 0; c < chunks; c++) {
+            long first = (long) c << CHUNK_SHIFT;
+            long count = Math.min(1L << CHUNK_SHIFT, pointsCount - first);
+            column[c] = channel.map(FileChannel.MapMode.READ_ONLY, offset + first * Double.BYTES, count * Double.BYTES)
+                    .asDoubleBuffer();
+        }
+        return column;
+    }
+
+    private double x(int index) {
+        if (uniformGrid) {
+            // Так же, как в конструкторах по границам
+            return leftX + gridStep * index;
+        }
+        return xChunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+    }
+
+    private double y(int index) {
+        return yChunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс " + index + " выходит за границы [0, " + (pointsCount - 1) + "]");
+        }
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Табулированная функция, отображенная из файла, доступна только для чтения");
+    }
+
+    public double getLeftDomainBorder() {
+        return x(0);
+    }
+
+    public double getRightDomainBorder() {
+        return x(pointsCount - 1);
+    }
+
+    public double getFunctionValue(double x) {
+        // Проверка границ
+        if (x < x(0) || x > x(pointsCount - 1)) {
+            return Double.NaN;
+        }
+
+        // Поиск интервала, содержащего x (первый i, для которого x(i+1) >= x)
+        int i;
+        if (uniformGrid) {
+            i = (int) ((x - leftX) / gridStep);
+            if (i > pointsCount - 2) {
+                i = pointsCount - 2;
+            }
+            if (i < 0) {
+                i = 0;
+            }
+            while (i > 0 && x(i) >= x) {
+                i--;
+            }
+            while (i < pointsCount - 2 && x(i + 1) < x) {
+                i++;
+            }
+        } else {
+            int low = 0;
+            int high = pointsCount - 2;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (x(mid + 1) >= x) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            i = low;
+        }
+
+        double x1 = x(i);
+        double x2 = x(i + 1);
+        if (ArrayTabulatedFunction.compareDouble(x, x1)) {
+            return y(i);
+        }
+        if (ArrayTabulatedFunction.compareDouble(x, x2)) {
+            return y(i + 1);
+        }
+
+        double y1 = y(i);
+        double y2 = y(i + 1);
+        return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+    }
+
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(x(index), y(index));
+    }
+
+    public void setPoint(int index, FunctionPoint point) {
+        throw readOnly();
+    }
+
+    public double getPointX(int index) {
+        checkIndex(index);
+        return x(index);
+    }
+
+    public void setPointX(int index, double x) {
+        throw readOnly();
+    }
+
+    public double getPointY(int index) {
+        checkIndex(index);
+        return y(index);
+    }
+
+    public void setPointY(int index, double y) {
+        throw readOnly();
+    }
+
+    public void deletePoint(int index) {
+        throw readOnly();
+    }
+
+    public void addPoint(FunctionPoint point) {
+        throw readOnly();
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer action) {
+        for (int i = 0; i < pointsCount; i++) {
+            action.accept(x(i), y(i));
+        }
+    }
+
+    //Возвращает текстовое описание табулированной функции в формате {(x1; y1), (x2; y2), ...}
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int i = 0; i < pointsCount; i++) {
+            sb.append("(").append(x(i)).append("; ").append(y(i)).append(")");
+            if (i < pointsCount - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    //Сравнивает две табулированные функции на равенство
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TabulatedFunction)) return false;
+
+        TabulatedFunction other = (TabulatedFunction) o;
+        if (pointsCount != other.getPointsCount()) {
+            return false;
+        }
+
+        PointCursor cursor = other.cursor();
+        for (int i = 0; i < pointsCount; i++) {
+            cursor.moveNext();
+            if (!ArrayTabulatedFunction.compareDouble(x(i), cursor.getX())
+                    || !ArrayTabulatedFunction.compareDouble(y(i), cursor.getY())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //Вычисляет хэш-код табулированной функции (так же, как ArrayTabulatedFunction)
+
+    @Override
+    public int hashCode() {
+        int hash = pointsCount;
+        for (int i = 0; i < pointsCount; i++) {
+            long xBits = Double.doubleToLongBits(x(i));
+            long yBits = Double.doubleToLongBits(y(i));
+            hash ^= (int) (xBits ^ (xBits >>> 32)) ^ (int) (yBits ^ (yBits >>> 32));
+        }
+        return hash;
+    }
+
+    //Функция неизменяема, поэтому копия разделяет с оригиналом отображение файла
+
+    @Override
+    public Object clone() {
+        try {
+            return super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException("Ошибка при клонировании объекта MappedTabulatedFunction", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package functions;
+
+import java.util.Arrays;
+
+// Абсциссы и ординаты точек табулированной функции, прочитанные одним проходом forEachPoint.
+// Количество точек определяется самим проходом, а getPointsCount служит лишь начальной емкостью:
+// у ConcurrentTabulatedFunction проход идет по одному снимку, и массивы соответствуют ему,
+// даже если другой поток между вызовами добавил или удалил точки
+public final class PointArrays {
+
+    private final double[] xValues;
+    private final double[] yValues;
+
+    private PointArrays(double[] xValues, double[] yValues) {
+        this.xValues = xValues;
+        this.yValues = yValues;
+    }
+
+    public static PointArrays of(TabulatedFunction function) {
+        Collector collector = new Collector(function.getPointsCount());
+        function.forEachPoint(collector);
+        return new PointArrays(Arrays.copyOf(collector.xs, collector.size), Arrays.copyOf(collector.ys, collector.size));
+    }
+
+    public int size() {
+        return xValues.length;
+    }
+
+    // Массивы не копируются: они созданы для вызывающего и больше нигде не используются
+    public double[] getXValues() {
+        return xValues;
+    }
+
+    public double[] getYValues() {
+        return yValues;
+    }
+
+    // Расширяемые массивы, заполняемые по мере обхода точек
+    private static final class Collector implements PointConsumer {
+        double[] xs;
+        double[] ys;
+        int size;
+
+        Collector(int capacity) {
+            xs = new double[Math.max(capacity, 2)];
+            ys = new double[xs.length];
+        }
+
+        @Override
+        public void accept(double x, double y) {
+            if (size == xs.length) {
+                xs = Arrays.copyOf(xs, size + (size >> 1) + 1);
+                ys = Arrays.copyOf(ys, xs.length);
+            }
+            xs[size] = x;
+            ys[size] = y;
+            size++;
+        }
+    }
+}
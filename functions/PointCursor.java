@@ -0,0 +1,20 @@
+package functions;
+
+// Курсор для прохода по точкам табулированной функции в обе стороны без создания объектов.
+// Курсор стоит на точке с индексом getIndex() либо перед первой точкой (индекс -1),
+// либо после последней (индекс, равный количеству точек).
+// После изменения набора точек функции (добавления или удаления) курсор нужно получить заново
+public interface PointCursor {
+
+    // Переходит к следующей точке; false, если ее нет (курсор встает после последней)
+    boolean moveNext();
+
+    // Переходит к предыдущей точке; false, если ее нет (курсор встает перед первой)
+    boolean movePrevious();
+
+    int getIndex();
+
+    // Координаты текущей точки
+    double getX();
+    double getY();
+}
@@ -0,0 +1,259 @@
+package functions;
+
+import java.util.Arrays;
+
+// Сжатие табулированных функций: удаление лишних точек с ограничением погрешности
+// и прореживание до заданного количества точек для отображения.
+//
+// compact удаляет точки по очереди, начиная с той, чье удаление меньше всего меняет функцию
+// (как в алгоритме Висвалингама, но мерой служит отклонение по вертикали, а не площадь).
+// Для каждой оставшейся внутренней точки хранится верхняя оценка погрешности, которую даст
+// ее удаление: отклонение точки от хорды соседей плюс оценки уже удаленных точек на двух
+// прилегающих отрезках (ломаная и хорда расходятся не больше, чем в самой точке).
+// Точки выбираются из двоичной кучи по этой оценке, поэтому сжатие стоит O(n log n),
+// а погрешность линейной интерполяции в удаленных точках гарантированно не превышает maxError.
+// Крайние точки не удаляются, остается не меньше 3 точек.
+public final class TabulatedCompaction {
+
+    private TabulatedCompaction() {
+    }
+
+    // Удаляет из функции точки, без которых значения в них отклоняются от исходных не больше
+    // чем на maxError. Функция изменяется на месте (deletePoints: у функций-массивов -
+    // за один проход). Фактическая погрешность в отчете - отклонение сжатой функции от исходных
+    // значений в удаленных точках; для кубической интерполяции она может превысить maxError
+    public static CompactionResult compact(TabulatedFunction function, double maxError) {
+        if (!(maxError >= 0)) {
+            throw new IllegalArgumentException("Допустимая погрешность " + maxError + " должна быть неотрицательной");
+        }
+
+        PointArrays points = PointArrays.of(function);
+        int n = points.size();
+        double[] xs = points.getXValues();
+        double[] ys = points.getYValues();
+        if (n <= 3) {
+            return new CompactionResult(n, 0, 0);
+        }
+
+        // Двусвязный список оставшихся точек
+        int[] previous = new int[n];
+        int[] next = new int[n];
+        for (int i = 0; i < n; i++) {
+            previous[i] = i - 1;
+            next[i] = i + 1;
+        }
+        // segmentError[i] - оценка погрешности удаленных точек между i и next[i]
+        double[] segmentError = new double[n];
+
+        CostHeap heap = new CostHeap(n);
+        for (int i = 1; i < n - 1; i++) {
+            heap.add(i, cost(xs, ys, previous[i], i, next[i], segmentError));
+        }
+
+        boolean[] remove = new boolean[n];
+        int remaining = n;
+        while (remaining > 3 && !heap.isEmpty() && heap.minCost() <= maxError) {
+            double cost = heap.minCost();
+            int i = heap.poll();
+            int left = previous[i];
+            int right = next[i];
+            remove[i] = true;
+            remaining--;
+
+            next[left] = right;
+            previous[right] = left;
+            segmentError[left] = cost;
+            if (left > 0) {
+                heap.update(left, cost(xs, ys, previous[left], left, right, segmentError));
+            }
+            if (right < n - 1) {
+                heap.update(right, cost(xs, ys, left, right, next[right], segmentError));
+            }
+        }
+
+        int removed = n - remaining;
+        if (removed == 0) {
+            return new CompactionResult(n, 0, 0);
+        }
+        function.deletePoints(remove);
+
+        // Фактическая погрешность: значения сжатой функции в удаленных точках
+        double[] removedXs = new double[removed];
+        double[] removedYs = new double[removed];
+        for (int i = 0, k = 0; i < n; i++) {
+            if (remove[i]) {
+                removedXs[k] = xs[i];
+                removedYs[k] = ys[i];
+                k++;
+            }
+        }
+        double[] values = new double[removed];
+        function.getFunctionValues(removedXs, values);
+        double error = 0;
+        for (int k = 0; k < removed; k++) {
+            error = Math.max(error, Math.abs(values[k] - removedYs[k]));
+        }
+        return new CompactionResult(n, removed, error);
+    }
+
+    // Оценка погрешности после удаления точки i с соседями left и right.
+    // Неопределенное отклонение (NaN) дает бесконечную оценку: такая точка не удаляется
+    private static double cost(double[] xs, double[] ys, int left, int i, int right, double[] segmentError) {
+        double chord = ys[left] + (ys[right] - ys[left]) * (xs[i] - xs[left]) / (xs[right] - xs[left]);
+        double cost = Math.abs(ys[i] - chord) + Math.max(segmentError[left], segmentError[i]);
+        return Double.isNaN(cost) ? Double.POSITIVE_INFINITY : cost;
+    }
+
+    // Прореживает функцию до targetCount точек алгоритмом Largest-Triangle-Three-Buckets:
+    // внутренние точки делятся на targetCount - 2 равные по количеству группы, и из каждой
+    // берется точка, образующая наибольший треугольник с выбранной точкой предыдущей группы
+    // и средней точкой следующей. Форма графика (пики, провалы) сохраняется лучше, чем при
+    // равномерной выборке, но погрешность не ограничивается. Исходная функция не изменяется
+    public static ArrayTabulatedFunction downsample(TabulatedFunction function, int targetCount) {
+        if (targetCount < 3) {
+            throw new IllegalArgumentException("Количество точек " + targetCount + " < 3");
+        }
+
+        PointArrays points = PointArrays.of(function);
+        int n = points.size();
+        double[] xs = points.getXValues();
+        double[] ys = points.getYValues();
+        if (targetCount >= n) {
+            return new ArrayTabulatedFunction(xs, ys);
+        }
+
+        double[] sampledXs = new double[targetCount];
+        double[] sampledYs = new double[targetCount];
+        sampledXs[0] = xs[0];
+        sampledYs[0] = ys[0];
+
+        // Границы группы b: [1 + b * size, 1 + (b + 1) * size)
+        double size = (double) (n - 2) / (targetCount - 2);
+        int selected = 0;
+        for (int b = 0; b < targetCount - 2; b++) {
+            int from = 1 + (int) (b * size);
+            int to = 1 + (int) ((b + 1) * size);
+
+            // Средняя точка следующей группы (для последней - крайняя точка)
+            int nextFrom = to;
+            int nextTo = b == targetCount - 3 ? n : Math.min(1 + (int) ((b + 2) * size), n - 1);
+            double averageX = 0;
+            double averageY = 0;
+            for (int j = nextFrom; j < nextTo; j++) {
+                averageX += xs[j];
+                averageY += ys[j];
+            }
+            averageX /= nextTo - nextFrom;
+            averageY /= nextTo - nextFrom;
+
+            double ax = xs[selected];
+            double ay = ys[selected];
+            double maxArea = -1;
+            int best = from;
+            for (int j = from; j < to; j++) {
+                double area = Math.abs((ax - averageX) * (ys[j] - ay) - (ax - xs[j]) * (averageY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    best = j;
+                }
+            }
+            sampledXs[b + 1] = xs[best];
+            sampledYs[b + 1] = ys[best];
+            selected = best;
+        }
+
+        sampledXs[targetCount - 1] = xs[n - 1];
+        sampledYs[targetCount - 1] = ys[n - 1];
+        return new ArrayTabulatedFunction(sampledXs, sampledYs);
+    }
+
+    // Двоичная куча индексов точек по оценке погрешности с изменением оценки за O(log n)
+    private static final class CostHeap {
+        private final int[] heap;
+        // Позиция точки в куче (-1, если точки в куче нет)
+        private final int[] position;
+        private final double[] costs;
+        private int size;
+
+        CostHeap(int capacity) {
+            heap = new int[capacity];
+            position = new int[capacity];
+            costs = new double[capacity];
+            Arrays.fill(position, -1);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        double minCost() {
+            return costs[heap[0]];
+        }
+
+        void add(int point, double cost) {
+            costs[point] = cost;
+            heap[size] = point;
+            position[point] = size;
+            size++;
+            siftUp(size - 1);
+        }
+
+        int poll() {
+            int point = heap[0];
+            position[point] = -1;
+            size--;
+            if (size > 0) {
+                heap[0] = heap[size];
+                position[heap[0]] = 0;
+                siftDown(0);
+            }
+            return point;
+        }
+
+        void update(int point, double cost) {
+            double old = costs[point];
+            costs[point] = cost;
+            if (cost < old) {
+                siftUp(position[point]);
+            } else {
+                siftDown(position[point]);
+            }
+        }
+
+        private void siftUp(int k) {
+            int point = heap[k];
+            while (k > 0) {
+                int parent = (k - 1) >>> 1;
+                if (costs[heap[parent]] <= costs[point]) {
+                    break;
+                }
+                heap[k] = heap[parent];
+                position[heap[k]] = k;
+                k = parent;
+            }
+            heap[k] = point;
+            position[point] = k;
+        }
+
+        private void siftDown(int k) {
+            int point = heap[k];
+            while (true) {
+                int child = 2 * k + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && costs[heap[child + 1]] < costs[heap[child]]) {
+                    child++;
+                }
+                if (costs[heap[child]] >= costs[point]) {
+                    break;
+                }
+                heap[k] = heap[child];
+                position[heap[k]] = k;
+                k = child;
+            }
+            heap[k] = point;
+            position[point] = k;
+        }
+    }
+}
@@ -20,6 +20,91 @@ public interface TabulatedFunction extends Function, Cloneable{
     void deletePoint(int index);
     void addPoint(FunctionPoint point) throws InappropriateFunctionPointException;
 
+    // Добавляет набор точек в произвольном порядке. Точки с совпадающими X внутри набора
+    // объединяются (остается первая после сортировки), совпадение X с имеющейся точкой -
+    // ошибка, как и в addPoint; при ошибке функция не изменяется
+    default void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        FunctionPoint[] batch = TabulatedFunctions.sortedDistinct(points);
+
+        // Проверка совпадений слиянием двух упорядоченных последовательностей
+        int pointsCount = getPointsCount();
+        int i = 0;
+        int j = 0;
+        while (i < pointsCount && j < batch.length) {
+            double x = getPointX(i);
+            if (compareDouble(x, batch[j].getX())) {
+                throw new InappropriateFunctionPointException("Точка с X=" + batch[j].getX() + " уже существует");
+            }
+            if (x < batch[j].getX()) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+
+        for (FunctionPoint point : batch) {
+            addPoint(point);
+        }
+    }
+
+    // Удаляет за один вызов точки, для которых remove[i] == true (длина remove - не меньше
+    // количества точек). Должно остаться не меньше 3 точек, как и при deletePoint;
+    // при нехватке точек функция не изменяется
+    default void deletePoints(boolean[] remove) {
+        int pointsCount = getPointsCount();
+        int remaining = 0;
+        for (int i = 0; i < pointsCount; i++) {
+            if (!remove[i]) {
+                remaining++;
+            }
+        }
+        if (remaining == pointsCount) {
+            return;
+        }
+        if (remaining < 3) {
+            throw new IllegalStateException("Нельзя удалить точки - останется меньше 3 точек: " + remaining);
+        }
+
+        // С конца, чтобы индексы еще не удаленных точек не сдвигались
+        for (int i = pointsCount - 1; i >= 0; i--) {
+            if (remove[i]) {
+                deletePoint(i);
+            }
+        }
+    }
+
+    // Способ интерполяции между узлами. Все способы поддерживают ArrayTabulatedFunction,
+    // DoubleArrayTabulatedFunction, LinkedListTabulatedFunction и ConcurrentTabulatedFunction.
+    // Остальные реализации (MappedTabulatedFunction, CompressedTabulatedFunction) наследуют эти методы и интерполируют только линейно,
+    // и setInterpolation с другим способом выбрасывает UnsupportedOperationException
+    default Interpolation getInterpolation() {
+        return Interpolation.LINEAR;
+    }
+
+    default void setInterpolation(Interpolation interpolation) {
+        if (interpolation != Interpolation.LINEAR) {
+            throw new UnsupportedOperationException("Способ интерполяции " + interpolation + " не поддерживается");
+        }
+    }
+
+    // Курсор перед первой точкой
+    default PointCursor cursor() {
+        return cursor(-1);
+    }
+
+    // Курсор на точке с индексом index (-1 - перед первой, getPointsCount() - после последней)
+    default PointCursor cursor(int index) {
+        return new IndexPointCursor(this, index);
+    }
+
+    // Передает обработчику координаты всех точек по возрастанию X
+    default void forEachPoint(PointConsumer action) {
+        PointCursor cursor = cursor();
+        while (cursor.moveNext()) {
+            action.accept(cursor.getX(), cursor.getY());
+        }
+    }
+
 
     static boolean compareDouble(double a, double b) {
         final double epsilon = 1e-10;
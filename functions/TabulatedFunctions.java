@@ -1,6 +1,17 @@
 package functions;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 public final class TabulatedFunctions {
 
@@ -8,8 +19,63 @@ public final class TabulatedFunctions {
     private TabulatedFunctions() {
     }
 
+    // Количество точек, начиная с которого табулирование разбивается на параллельные части
+    public static final int DEFAULT_PARALLELISM_THRESHOLD = 4096;
+
     // Табулирует функцию на заданном отрезке с заданным количеством точек
     public static TabulatedFunction tabulate(Function function, double leftX, double rightX, int pointsCount) {
+        checkTabulationArguments(function, leftX, rightX, pointsCount);
+
+        // Создание массива значений функции
+        double[] values = new double[pointsCount];
+        double step = (rightX - leftX) / (pointsCount - 1);
+
+        // Заполнение массива значений
+        for (int i = 0; i < pointsCount; i++) {
+            double x = leftX + i * step;
+            values[i] = function.getFunctionValue(x);
+        }
+
+        // Возврат табулированной функции (убрал лишние {})
+        return new ArrayTabulatedFunction(leftX, rightX, values);
+    }
+
+    // Параллельное табулирование в общем пуле потоков с порогом по умолчанию
+    public static TabulatedFunction tabulateParallel(Function function, double leftX, double rightX, int pointsCount) {
+        return tabulateParallel(function, leftX, rightX, pointsCount, DEFAULT_PARALLELISM_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    // Параллельное табулирование в общем пуле потоков
+    public static TabulatedFunction tabulateParallel(Function function, double leftX, double rightX, int pointsCount,
+                                                     int threshold) {
+        return tabulateParallel(function, leftX, rightX, pointsCount, threshold, ForkJoinPool.commonPool());
+    }
+
+    // Табулирует функцию, вычисляя значения частями не более threshold точек в потоках пула pool.
+    // Точки и значения в них те же, что и при последовательном табулировании, поэтому результат
+    // совпадает с tabulate. Функция должна допускать одновременные вызовы getFunctionValue
+    public static TabulatedFunction tabulateParallel(Function function, double leftX, double rightX, int pointsCount,
+                                                     int threshold, ForkJoinPool pool) {
+        checkTabulationArguments(function, leftX, rightX, pointsCount);
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Порог параллельного табулирования " + threshold + " < 1");
+        }
+
+        double[] values = new double[pointsCount];
+        double step = (rightX - leftX) / (pointsCount - 1);
+
+        TabulateTask task = new TabulateTask(function, leftX, step, values, 0, pointsCount, threshold);
+        if (pointsCount <= threshold) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+
+        return new ArrayTabulatedFunction(leftX, rightX, values);
+    }
+
+    // Проверка аргументов табулирования
+    private static void checkTabulationArguments(Function function, double leftX, double rightX, int pointsCount) {
         if (leftX < function.getLeftDomainBorder() || rightX > function.getRightDomainBorder()) {
             throw new IllegalArgumentException(
                     "Отрезок табулирования [" + leftX + ", " + rightX + "] " +
@@ -22,57 +88,359 @@ public final class TabulatedFunctions {
         if (pointsCount < 2) {
             throw new IllegalArgumentException("Количество точек должно быть не менее 2");
         }
+    }
 
-        // Создание массива значений функции
-        double[] values = new double[pointsCount];
-        double step = (rightX - leftX) / (pointsCount - 1);
+    // Задача вычисления значений функции в точках с индексами [from, to)
+    private static final class TabulateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
 
-        // Заполнение массива значений
-        for (int i = 0; i < pointsCount; i++) {
-            double x = leftX + i * step;
-            values[i] = function.getFunctionValue(x);
+        private final Function function;
+        private final double leftX;
+        private final double step;
+        private final double[] values;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        TabulateTask(Function function, double leftX, double step, double[] values, int from, int to, int threshold) {
+            this.function = function;
+            this.leftX = leftX;
+            this.step = step;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
         }
 
-        // Возврат табулированной функции (убрал лишние {})
-        return new ArrayTabulatedFunction(leftX, rightX, values);
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    double x = leftX + i * step;
+                    values[i] = function.getFunctionValue(x);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new TabulateTask(function, leftX, step, values, from, middle, threshold),
+                    new TabulateTask(function, leftX, step, values, middle, to, threshold));
+        }
     }
 
+    // Начальное количество точек адаптивного табулирования по умолчанию
+    public static final int DEFAULT_ADAPTIVE_INITIAL_POINTS = 33;
+
+    // Наибольшая глубина дробления интервала начальной сетки (до 2^20 частей)
+    private static final int ADAPTIVE_MAX_DEPTH = 20;
+
+    // Наименьшая длина интервала: ближе узлы считаются совпадающими (см. compareDouble).
+    // При больших |x| соседние числа double отстоят дальше, и дробление останавливается раньше:
+    // интервал делится, только пока его середина лежит строго между концами
+    private static final double ADAPTIVE_MIN_STEP = 1e-9;
+
+    // До этой глубины половины интервала обрабатываются параллельными задачами
+    private static final int ADAPTIVE_FORK_DEPTH = 4;
+
+    // Адаптивное табулирование с начальной сеткой по умолчанию в общем пуле потоков
+    public static TabulatedFunction tabulateAdaptive(Function function, double leftX, double rightX, double maxError) {
+        return tabulateAdaptive(function, leftX, rightX, maxError, DEFAULT_ADAPTIVE_INITIAL_POINTS, ForkJoinPool.commonPool());
+    }
+
+    // Адаптивное табулирование в общем пуле потоков
+    public static TabulatedFunction tabulateAdaptive(Function function, double leftX, double rightX, double maxError,
+                                                     int initialPointsCount) {
+        return tabulateAdaptive(function, leftX, rightX, maxError, initialPointsCount, ForkJoinPool.commonPool());
+    }
+
+    // Табулирует функцию с неравномерным шагом так, чтобы линейная интерполяция отклонялась
+    // от функции не более чем на maxError. Отрезок делится на initialPointsCount - 1 равных
+    // интервалов, каждый из которых рекурсивно делится пополам, пока отклонение в его
+    // четвертях и середине превышает maxError. Точки гуще там, где функция сильно изогнута,
+    // и реже на почти линейных участках. Начальная сетка должна быть достаточно частой,
+    // чтобы не пропустить колебания короче интервала.
+    // Дробление ограничено глубиной 20, длиной интервала 1e-9 и шагом между соседними числами double,
+    // поэтому у полюсов и при больших |x| точность может быть не достигнута. Интервалы с бесконечными или неопределенными значениями не дробятся.
+    // Интервалы обрабатываются в потоках пула pool; функция должна допускать одновременные вызовы
+    public static TabulatedFunction tabulateAdaptive(Function function, double leftX, double rightX, double maxError,
+                                                     int initialPointsCount, ForkJoinPool pool) {
+        checkTabulationArguments(function, leftX, rightX, initialPointsCount);
+        if (!(leftX < rightX)) {
+            throw new IllegalArgumentException("Левая граница " + leftX + " >= правой границы " + rightX);
+        }
+        if (!(maxError > 0)) {
+            throw new IllegalArgumentException("Допустимая погрешность " + maxError + " должна быть положительной");
+        }
+
+        // Узлы начальной сетки; если шаг меньше расстояния между соседними числами double,
+        // совпавшие после округления узлы пропускаются
+        double[] xs = new double[initialPointsCount];
+        double step = (rightX - leftX) / (initialPointsCount - 1);
+        int gridCount = 0;
+        for (int i = 0; i < initialPointsCount; i++) {
+            double x = i == initialPointsCount - 1 ? rightX : leftX + i * step;
+            if (gridCount == 0 || x > xs[gridCount - 1]) {
+                xs[gridCount++] = x;
+            }
+        }
+        if (gridCount < initialPointsCount) {
+            xs = Arrays.copyOf(xs, gridCount);
+        }
+        double[] ys = new double[gridCount];
+        function.getFunctionValues(xs, ys);
+
+        // Независимое дробление каждого интервала начальной сетки
+        AdaptiveTask[] tasks = new AdaptiveTask[gridCount - 1];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = AdaptiveTask.create(function, maxError, xs[i], ys[i], xs[i + 1], ys[i + 1], 0);
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        // Сборка узлов: левые концы принятых интервалов и правая граница отрезка
+        int pointsCount = 1;
+        for (AdaptiveTask task : tasks) {
+            pointsCount += task.points.size;
+        }
+        double[] xValues = new double[pointsCount];
+        double[] yValues = new double[pointsCount];
+        int position = 0;
+        for (AdaptiveTask task : tasks) {
+            PointBuffer points = task.points;
+            System.arraycopy(points.xs, 0, xValues, position, points.size);
+            System.arraycopy(points.ys, 0, yValues, position, points.size);
+            position += points.size;
+        }
+        xValues[position] = rightX;
+        yValues[position] = ys[gridCount - 1];
+
+        return new ArrayTabulatedFunction(xValues, yValues);
+    }
+
+    // Расширяемый массив узлов
+    private static final class PointBuffer {
+        double[] xs = new double[16];
+        double[] ys = new double[16];
+        int size;
+
+        void add(double x, double y) {
+            if (size == xs.length) {
+                xs = Arrays.copyOf(xs, size * 2);
+                ys = Arrays.copyOf(ys, size * 2);
+            }
+            xs[size] = x;
+            ys[size] = y;
+            size++;
+        }
+
+        void addAll(PointBuffer other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.xs[i], other.ys[i]);
+            }
+        }
+    }
+
+    // Задача дробления интервала [a, b]. Кроме концов известны значения в середине m
+    // и в четвертях q1, q3; при делении пополам они становятся серединами половин,
+    // так что каждая половина требует лишь двух новых вычислений функции.
+    // Результат - левые концы принятых интервалов (правый конец b не входит)
+    private static final class AdaptiveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Function function;
+        private final double maxError;
+        private final double a, fa, q1, fq1, m, fm, q3, fq3, b, fb;
+        private final int depth;
+        final PointBuffer points = new PointBuffer();
+
+        private AdaptiveTask(Function function, double maxError, double a, double fa, double q1, double fq1,
+                             double m, double fm, double q3, double fq3, double b, double fb, int depth) {
+            this.function = function;
+            this.maxError = maxError;
+            this.a = a;
+            this.fa = fa;
+            this.q1 = q1;
+            this.fq1 = fq1;
+            this.m = m;
+            this.fm = fm;
+            this.q3 = q3;
+            this.fq3 = fq3;
+            this.b = b;
+            this.fb = fb;
+            this.depth = depth;
+        }
+
+        // Задача для интервала, внутри которого значения еще не вычислены
+        static AdaptiveTask create(Function function, double maxError, double a, double fa, double b, double fb, int depth) {
+            double m = a + (b - a) * 0.5;
+            double q1 = a + (m - a) * 0.5;
+            double q3 = m + (b - m) * 0.5;
+            return new AdaptiveTask(function, maxError, a, fa, q1, function.getFunctionValue(q1),
+                    m, function.getFunctionValue(m), q3, function.getFunctionValue(q3), b, fb, depth);
+        }
+
+        @Override
+        protected void compute() {
+            if (depth < ADAPTIVE_FORK_DEPTH && needsSplit(a, fa, q1, fq1, m, fm, q3, fq3, b, fb, depth)) {
+                AdaptiveTask left = child(a, fa, q1, fq1, m, fm);
+                AdaptiveTask right = child(m, fm, q3, fq3, b, fb);
+                invokeAll(left, right);
+                points.addAll(left.points);
+                points.addAll(right.points);
+            } else {
+                refine(a, fa, q1, fq1, m, fm, q3, fq3, b, fb, depth);
+            }
+        }
+
+        private AdaptiveTask child(double a, double fa, double m, double fm, double b, double fb) {
+            double q1 = a + (m - a) * 0.5;
+            double q3 = m + (b - m) * 0.5;
+            return new AdaptiveTask(function, maxError, a, fa, q1, function.getFunctionValue(q1),
+                    m, fm, q3, function.getFunctionValue(q3), b, fb, depth + 1);
+        }
+
+        // Последовательное дробление внутри одного потока
+        private void refine(double a, double fa, double q1, double fq1, double m, double fm,
+                            double q3, double fq3, double b, double fb, int depth) {
+            if (!needsSplit(a, fa, q1, fq1, m, fm, q3, fq3, b, fb, depth)) {
+                points.add(a, fa);
+                return;
+            }
+
+            double lq1 = a + (q1 - a) * 0.5;
+            double lq3 = q1 + (m - q1) * 0.5;
+            refine(a, fa, lq1, function.getFunctionValue(lq1), q1, fq1, lq3, function.getFunctionValue(lq3), m, fm, depth + 1);
+
+            double rq1 = m + (q3 - m) * 0.5;
+            double rq3 = q3 + (b - q3) * 0.5;
+            refine(m, fm, rq1, function.getFunctionValue(rq1), q3, fq3, rq3, function.getFunctionValue(rq3), b, fb, depth + 1);
+        }
+
+        // Нужно ли делить интервал: отклонение хорды от функции в пробных точках больше допустимого
+        private boolean needsSplit(double a, double fa, double q1, double fq1, double m, double fm,
+                                   double q3, double fq3, double b, double fb, int depth) {
+            // Середина, совпавшая после округления с концом, дала бы повторяющийся узел
+            if (depth >= ADAPTIVE_MAX_DEPTH || (b - a) * 0.5 < ADAPTIVE_MIN_STEP || !(a < m && m < b)) {
+                return false;
+            }
+
+            // Неопределенные и бесконечные значения не интерполируются, дробление не поможет
+            double error = Math.max(Math.abs(fm - (fa + fb) * 0.5),
+                    Math.max(Math.abs(fq1 - (fa * 0.75 + fb * 0.25)), Math.abs(fq3 - (fa * 0.25 + fb * 0.75))));
+            if (Double.isNaN(error) || Double.isInfinite(fa) || Double.isInfinite(fb)) {
+                return false;
+            }
+            return error > maxError;
+        }
+    }
+
+    // Копия набора точек, упорядоченная по X, без точек, совпадающих по X (compareDouble)
+    // с предыдущей. Из совпадающих остается первая: сортировка устойчива
+    static FunctionPoint[] sortedDistinct(FunctionPoint[] points) {
+        FunctionPoint[] sorted = points.clone();
+        Arrays.sort(sorted, Comparator.comparingDouble(FunctionPoint::getX));
+
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (count == 0 || !TabulatedFunction.compareDouble(sorted[count - 1].getX(), sorted[i].getX())) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return count == sorted.length ? sorted : Arrays.copyOf(sorted, count);
+    }
+
+    // Размер буферов потоковой записи
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    // Записывает функцию в текстовом виде: количество точек, затем по строке "X Y" на точку.
+    // Точки проходятся один раз, числа форматируются в переиспользуемый буфер
     public static void writeTabulatedFunction(TabulatedFunction function, Writer out) throws IOException {
-        PrintWriter writer = new PrintWriter(out);
-        writer.println(function.getPointsCount());
-        for (int i = 0; i < function.getPointsCount(); i++) {
-            writer.println(function.getPointX(i) + " " + function.getPointY(i));
+        String lineSeparator = System.lineSeparator();
+        StringBuilder text = new StringBuilder(IO_BUFFER_SIZE + 128);
+        char[] chars = new char[IO_BUFFER_SIZE + 128];
+
+        text.append(function.getPointsCount()).append(lineSeparator);
+        PointCursor cursor = function.cursor();
+        while (cursor.moveNext()) {
+            text.append(cursor.getX()).append(' ').append(cursor.getY()).append(lineSeparator);
+            if (text.length() >= IO_BUFFER_SIZE) {
+                writeText(out, text, chars);
+            }
         }
-        writer.flush();
+        writeText(out, text, chars);
+        out.flush();
     }
 
+    // Текстовая запись в канал через прямой буфер (все символы формата - ASCII)
+    public static void writeTabulatedFunction(TabulatedFunction function, WritableByteChannel out) throws IOException {
+        String lineSeparator = System.lineSeparator();
+        StringBuilder text = new StringBuilder(IO_BUFFER_SIZE + 128);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE + 128);
+
+        text.append(function.getPointsCount()).append(lineSeparator);
+        PointCursor cursor = function.cursor();
+        while (cursor.moveNext()) {
+            text.append(cursor.getX()).append(' ').append(cursor.getY()).append(lineSeparator);
+            if (text.length() >= IO_BUFFER_SIZE) {
+                writeText(out, text, buffer);
+            }
+        }
+        writeText(out, text, buffer);
+    }
+
+    private static void writeText(Writer out, StringBuilder text, char[] chars) throws IOException {
+        int length = text.length();
+        text.getChars(0, length, chars, 0);
+        out.write(chars, 0, length);
+        text.setLength(0);
+    }
+
+    private static void writeText(WritableByteChannel out, StringBuilder text, ByteBuffer buffer) throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            buffer.put((byte) text.charAt(i));
+        }
+        text.setLength(0);
+        flushBuffer(out, buffer);
+    }
+
+    // Читает функцию, записанную writeTabulatedFunction: количество точек, затем пары X Y.
+    // Числа разбираются прямо из буфера символов, включая экспоненциальную запись
     public static TabulatedFunction readTabulatedFunction(Reader in) throws IOException {
-        StreamTokenizer tokenizer = new StreamTokenizer(in);
+        DoubleTextReader reader = new DoubleTextReader(in);
 
-        tokenizer.nextToken(); // читаем количество точек
-        int pointsCount = (int)tokenizer.nval;
+        int pointsCount = reader.nextInt(); // читаем количество точек
 
-        FunctionPoint[] points = new FunctionPoint[pointsCount];
+        double[] xValues = new double[pointsCount];
+        double[] yValues = new double[pointsCount];
 
         for (int i = 0; i < pointsCount; i++) {
-            tokenizer.nextToken(); // читаем X
-            double x = tokenizer.nval;
-            tokenizer.nextToken(); // читаем Y
-            double y = tokenizer.nval;
-            points[i] = new FunctionPoint(x, y);
+            xValues[i] = reader.nextDouble(); // читаем X
+            yValues[i] = reader.nextDouble(); // читаем Y
         }
 
-        return new ArrayTabulatedFunction(points);
+        return new ArrayTabulatedFunction(xValues, yValues);
     }
 
+    // Записывает функцию в двоичном виде: int количество точек, затем пары double X Y
     public static void outputTabulatedFunction(TabulatedFunction function, OutputStream out) throws IOException {
-        DataOutputStream dos = new DataOutputStream(out);
-        dos.writeInt(function.getPointsCount());
-        for (int i = 0; i < function.getPointsCount(); i++) {
-            dos.writeDouble(function.getPointX(i));
-            dos.writeDouble(function.getPointY(i));
+        outputTabulatedFunction(function, Channels.newChannel(out));
+        out.flush();
+    }
+
+    // Двоичная запись в канал через прямой буфер, формат тот же, что у DataOutputStream
+    public static void outputTabulatedFunction(TabulatedFunction function, WritableByteChannel out) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+
+        buffer.putInt(function.getPointsCount());
+        PointCursor cursor = function.cursor();
+        while (cursor.moveNext()) {
+            if (buffer.remaining() < 2 * Double.BYTES) {
+                flushBuffer(out, buffer);
+            }
+            buffer.putDouble(cursor.getX());
+            buffer.putDouble(cursor.getY());
         }
-        dos.flush();
+        flushBuffer(out, buffer);
     }
 
     public static TabulatedFunction inputTabulatedFunction(InputStream in) throws IOException {
@@ -88,4 +456,75 @@ public final class TabulatedFunctions {
 
         return new ArrayTabulatedFunction(points);
     }
+
+    // Размер буфера записи двоичного файла
+    private static final int BINARY_BUFFER_SIZE = 1 << 16;
+
+    // Записывает функцию в двоичный файл, который можно открыть как MappedTabulatedFunction
+    public static void writeBinaryTabulatedFunction(TabulatedFunction function, Path file) throws IOException {
+        int pointsCount = function.getPointsCount();
+        double leftX = function.getPointX(0);
+        double rightX = function.getPointX(pointsCount - 1);
+        boolean uniform = isUniformGrid(function, leftX, rightX);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BINARY_BUFFER_SIZE);
+            buffer.putInt(MappedTabulatedFunction.MAGIC)
+                    .putInt(MappedTabulatedFunction.VERSION)
+                    .putInt(pointsCount)
+                    .putInt(uniform ? MappedTabulatedFunction.FLAG_UNIFORM : 0)
+                    .putDouble(leftX)
+                    .putDouble(rightX);
+
+            // Абсциссы равномерной сетки восстанавливаются по границам
+            if (!uniform) {
+                PointCursor cursor = function.cursor();
+                while (cursor.moveNext()) {
+                    if (!buffer.hasRemaining()) {
+                        flushBuffer(channel, buffer);
+                    }
+                    buffer.putDouble(cursor.getX());
+                }
+            }
+            PointCursor cursor = function.cursor();
+            while (cursor.moveNext()) {
+                if (!buffer.hasRemaining()) {
+                    flushBuffer(channel, buffer);
+                }
+                buffer.putDouble(cursor.getY());
+            }
+            flushBuffer(channel, buffer);
+        }
+    }
+
+    // Открывает двоичный файл функции, отображая его в память
+    public static MappedTabulatedFunction mapTabulatedFunction(Path file) throws IOException {
+        return new MappedTabulatedFunction(file);
+    }
+
+    // Сжатая копия функции только для чтения (см. CompressedTabulatedFunction)
+    public static CompressedTabulatedFunction compress(TabulatedFunction function) {
+        return new CompressedTabulatedFunction(function);
+    }
+
+    // Проверяет, что абсциссы точно совпадают с равномерной сеткой, которую восстановит MappedTabulatedFunction
+    private static boolean isUniformGrid(TabulatedFunction function, double leftX, double rightX) {
+        double step = (rightX - leftX) / (function.getPointsCount() - 1);
+        PointCursor cursor = function.cursor();
+        while (cursor.moveNext()) {
+            if (Double.doubleToLongBits(cursor.getX()) != Double.doubleToLongBits(leftX + step * cursor.getIndex())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void flushBuffer(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,253 @@
+package functions;
+
+import java.util.Arrays;
+
+// Поточечные операции над табулированными функциями без повторного табулирования.
+//
+// Вместо tabulate(Functions.sum(f, g), ...), где каждое значение ищется в обеих таблицах
+// заново, абсциссы обеих функций сливаются одним проходом по двум упорядоченным
+// последовательностям (объединенная сетка), и значения на ней вычисляются пакетно
+// (getFunctionValues по возрастающим аргументам сдвигает интервал, а не ищет его) -
+// всего O(n + m). Варианты с аргументом grid вычисляют результат на заданной сетке.
+//
+// Результат - новая ArrayTabulatedFunction с линейной интерполяцией. Для линейных таблиц
+// сумма и композиция на объединенной сетке совпадают с поточечной операцией точно,
+// произведение (кусочно-квадратичное) приближается ломаной по узлам.
+// Абсциссы, совпадающие с точностью до 1e-10 (compareDouble), считаются одной точкой
+public final class TabulatedOperations {
+
+    private TabulatedOperations() {
+    }
+
+    // f + g на объединенной сетке в пересечении областей определения
+    public static ArrayTabulatedFunction add(TabulatedFunction f, TabulatedFunction g) {
+        double[] grid = unionGrid(f, g);
+        double[] values = values(f, grid);
+        ArrayMath.add(values, values(g, grid), values, grid.length);
+        return new ArrayTabulatedFunction(grid, values);
+    }
+
+    // f + g на сетке grid (вне области определения любой из функций - NaN)
+    public static ArrayTabulatedFunction add(TabulatedFunction f, TabulatedFunction g, double[] grid) {
+        checkGrid(grid);
+        double[] values = values(f, grid);
+        ArrayMath.add(values, values(g, grid), values, grid.length);
+        return new ArrayTabulatedFunction(grid, values);
+    }
+
+    // f * g на объединенной сетке в пересечении областей определения
+    public static ArrayTabulatedFunction multiply(TabulatedFunction f, TabulatedFunction g) {
+        double[] grid = unionGrid(f, g);
+        double[] values = values(f, grid);
+        ArrayMath.multiply(values, values(g, grid), values, grid.length);
+        return new ArrayTabulatedFunction(grid, values);
+    }
+
+    // f * g на сетке grid (вне области определения любой из функций - NaN)
+    public static ArrayTabulatedFunction multiply(TabulatedFunction f, TabulatedFunction g, double[] grid) {
+        checkGrid(grid);
+        double[] values = values(f, grid);
+        ArrayMath.multiply(values, values(g, grid), values, grid.length);
+        return new ArrayTabulatedFunction(grid, values);
+    }
+
+    // Функция, полученная из f масштабированием вдоль осей, как Functions.scale:
+    // узлы (x * scaleX; y * scaleY). Способ интерполяции сохраняется
+    public static ArrayTabulatedFunction scale(TabulatedFunction f, double scaleX, double scaleY) {
+        if (scaleX == 0 || !Double.isFinite(scaleX)) {
+            throw new IllegalArgumentException("Коэффициент масштаба по X " + scaleX + " должен быть конечным и ненулевым");
+        }
+        double[] xs = abscissas(f);
+        double[] ys = new double[xs.length];
+        f.getFunctionValues(xs, ys);
+        ArrayMath.multiply(xs, scaleX, xs, xs.length);
+        ArrayMath.multiply(ys, scaleY, ys, ys.length);
+        // При отрицательном коэффициенте порядок точек меняется на обратный
+        if (scaleX < 0) {
+            reverse(xs);
+            reverse(ys);
+        }
+
+        ArrayTabulatedFunction result = new ArrayTabulatedFunction(xs, ys);
+        result.setInterpolation(f.getInterpolation());
+        return result;
+    }
+
+    // Композиция f2(f1(x)), как Functions.composition, на узлах f1 с добавленными точками,
+    // в которых ломаная f1 пересекает уровни узлов f2 (там у композиции изломы; значение f1
+    // в такой точке берется равным уровню).
+    // Узлы f2 между соседними значениями f1 находятся сдвигом от интервала предыдущего
+    // значения, поэтому проход стоит O(n + m + число пересечений).
+    // Там, где значения f1 выходят из области определения f2, значения композиции - NaN
+    public static ArrayTabulatedFunction compose(TabulatedFunction f1, TabulatedFunction f2) {
+        double[] xs = abscissas(f1);
+        double[] us = new double[xs.length];
+        f1.getFunctionValues(xs, us);
+        double[] levels = abscissas(f2);
+
+        // Узлы результата и значения f1 в них: в точках пересечения значение f1 - сам уровень
+        Nodes nodes = new Nodes(xs.length * 2);
+        // Индекс первого узла f2, большего предыдущего значения f1
+        int k = upperBound(levels, us[0]);
+        for (int i = 0; i < xs.length; i++) {
+            nodes.add(xs[i], us[i]);
+            if (i == xs.length - 1) {
+                break;
+            }
+
+            double u0 = us[i];
+            double u1 = us[i + 1];
+            double x0 = xs[i];
+            double dx = xs[i + 1] - x0;
+            if (u1 > u0) {
+                for (; k < levels.length && levels[k] < u1; k++) {
+                    if (levels[k] > u0) {
+                        nodes.add(x0 + (levels[k] - u0) * dx / (u1 - u0), levels[k]);
+                    }
+                }
+            } else if (u1 < u0) {
+                for (; k > 0 && levels[k - 1] > u1; k--) {
+                    if (levels[k - 1] < u0) {
+                        nodes.add(x0 + (levels[k - 1] - u0) * dx / (u1 - u0), levels[k - 1]);
+                    }
+                }
+            }
+            if (Double.isNaN(u0) || Double.isNaN(u1)) {
+                // После неопределенного значения индекс ищется заново
+                k = upperBound(levels, u1);
+            } else {
+                while (k < levels.length && levels[k] <= u1) {
+                    k++;
+                }
+            }
+        }
+
+        double[] grid = Arrays.copyOf(nodes.xs, nodes.size);
+        double[] values = Arrays.copyOf(nodes.us, nodes.size);
+        f2.getFunctionValues(values, values);
+        return new ArrayTabulatedFunction(grid, values);
+    }
+
+    // Расширяемые массивы узлов композиции
+    private static final class Nodes {
+        double[] xs;
+        double[] us;
+        int size;
+
+        Nodes(int capacity) {
+            xs = new double[capacity];
+            us = new double[capacity];
+        }
+
+        // Узел, совпадающий с предыдущим с точностью до 1e-10, не добавляется
+        void add(double x, double u) {
+            if (size > 0 && TabulatedFunction.compareDouble(xs[size - 1], x)) {
+                return;
+            }
+            if (size == xs.length) {
+                xs = Arrays.copyOf(xs, size * 2);
+                us = Arrays.copyOf(us, size * 2);
+            }
+            xs[size] = x;
+            us[size] = u;
+            size++;
+        }
+    }
+
+    // Композиция f2(f1(x)) на сетке grid
+    public static ArrayTabulatedFunction compose(TabulatedFunction f1, TabulatedFunction f2, double[] grid) {
+        checkGrid(grid);
+        double[] values = new double[grid.length];
+        f1.getFunctionValues(grid, values);
+        f2.getFunctionValues(values, values);
+        return new ArrayTabulatedFunction(grid, values);
+    }
+
+    // Объединение абсцисс f и g внутри пересечения областей определения (слиянием)
+    static double[] unionGrid(TabulatedFunction f, TabulatedFunction g) {
+        double[] a = abscissas(f);
+        double[] b = abscissas(g);
+        double left = Math.max(a[0], b[0]);
+        double right = Math.min(a[a.length - 1], b[b.length - 1]);
+        if (!(left < right) || TabulatedFunction.compareDouble(left, right)) {
+            throw new IllegalArgumentException("Области определения [" + a[0] + ", " + a[a.length - 1] + "] и ["
+                    + b[0] + ", " + b[b.length - 1] + "] пересекаются менее чем по отрезку");
+        }
+
+        double[] grid = new double[a.length + b.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            double x;
+            if (j == b.length || i < a.length && a[i] <= b[j]) {
+                x = a[i++];
+            } else {
+                x = b[j++];
+            }
+            if (x >= left && x <= right) {
+                count = append(grid, count, x);
+            }
+        }
+        // Правая граница могла совпасть с предыдущей точкой с точностью до 1e-10
+        grid[count - 1] = right;
+        return count == grid.length ? grid : Arrays.copyOf(grid, count);
+    }
+
+    // Дописывает x в конец упорядоченной сетки, если он не совпадает с последней точкой
+    private static int append(double[] grid, int count, double x) {
+        if (count > 0 && TabulatedFunction.compareDouble(grid[count - 1], x)) {
+            return count;
+        }
+        grid[count] = x;
+        return count + 1;
+    }
+
+    // Абсциссы точек функции (из одного прохода, см. PointArrays)
+    private static double[] abscissas(TabulatedFunction f) {
+        return PointArrays.of(f).getXValues();
+    }
+
+    private static double[] values(TabulatedFunction f, double[] grid) {
+        double[] values = new double[grid.length];
+        f.getFunctionValues(grid, values);
+        return values;
+    }
+
+    // Индекс первого элемента sorted, большего value (sorted.length, если таких нет)
+    private static int upperBound(double[] sorted, double value) {
+        if (Double.isNaN(value)) {
+            return 0;
+        }
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static void reverse(double[] array) {
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            double t = array[i];
+            array[i] = array[j];
+            array[j] = t;
+        }
+    }
+
+    private static void checkGrid(double[] grid) {
+        if (grid.length < 2) {
+            throw new IllegalArgumentException("Количество точек " + grid.length + " < 2");
+        }
+        for (int i = 0; i < grid.length - 1; i++) {
+            if (grid[i] >= grid[i + 1]) {
+                throw new IllegalArgumentException("Точки не упорядочены по X. Индексы " + i + " и " + (i + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package functions.basic;
+
+import functions.Function;
+
+// Постоянная функция f(x) = value
+public class Constant implements Function {
+    private final double value;
+
+    public Constant(double value) {
+        this.value = value;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return Double.NEGATIVE_INFINITY;
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        return value;
+    }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        for (int i = 0; i < xs.length; i++) {
+            values[i] = value;
+        }
+    }
+
+    public double getValue() {
+        return value;
+    }
+}
@@ -5,4 +5,11 @@ public class Cos extends TrigonometricFunction {
     public double getFunctionValue(double x) {
         return Math.cos(x);
     }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        for (int i = 0; i < xs.length; i++) {
+            values[i] = Math.cos(xs[i]);
+        }
+    }
 }
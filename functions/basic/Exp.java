@@ -17,4 +17,11 @@ public class Exp implements Function {
     public double getFunctionValue(double x) {
         return Math.exp(x);
     }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        for (int i = 0; i < xs.length; i++) {
+            values[i] = Math.exp(xs[i]);
+        }
+    }
 }
\ No newline at end of file
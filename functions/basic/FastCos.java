@@ -0,0 +1,14 @@
+package functions.basic;
+
+// Быстрый косинус (см. FastMath): погрешность до 3 ulp при |x| <= 1e5, дальше - Math.cos
+public class FastCos extends TrigonometricFunction {
+    @Override
+    public double getFunctionValue(double x) {
+        return FastMath.cos(x);
+    }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        FastMath.cos(xs, values);
+    }
+}
@@ -0,0 +1,26 @@
+package functions.basic;
+
+import functions.Function;
+
+// Быстрая экспонента (см. FastMath): погрешность до 2 ulp при |x| < 708, дальше - Math.exp
+public class FastExp implements Function {
+    @Override
+    public double getLeftDomainBorder() {
+        return Double.NEGATIVE_INFINITY;
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        return FastMath.exp(x);
+    }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        FastMath.exp(xs, values);
+    }
+}
@@ -0,0 +1,44 @@
+package functions.basic;
+
+import functions.Function;
+
+// Быстрый логарифм (см. FastMath): натуральный логарифм с погрешностью до 2 ulp
+// умножается на заранее вычисленное 1 / ln(base), что добавляет еще до 1 ulp
+public class FastLog implements Function {
+    private final double base;
+    private final double inverseLogBase;
+
+    public FastLog(double base) {
+        if (base <= 0 || base == 1) {
+            throw new IllegalArgumentException("Основание логарифма должно быть > 0 и ≠ 1");
+        }
+        this.base = base;
+        this.inverseLogBase = 1 / Math.log(base);
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return 0;
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        return FastMath.log(x) * inverseLogBase;
+    }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        for (int i = 0; i < xs.length; i++) {
+            values[i] = FastMath.log(xs[i]) * inverseLogBase;
+        }
+    }
+
+    public double getBase() {
+        return base;
+    }
+}
@@ -0,0 +1,295 @@
+package functions.basic;
+
+import functions.ArrayMath;
+
+// Быстрые приближения sin, cos, exp и log для классов FastSin, FastCos, FastTan, FastExp, FastLog и SinCos.
+//
+// Каждая функция устроена одинаково: аргумент сводится к малому отрезку по таблице
+// (шаг pi/32 для тригонометрии, 2^(j/64) для экспоненты, 1 + j/128 для логарифма),
+// а на малом отрезке значение дает многочлен в схеме Горнера без ветвлений.
+// Номер узла таблицы получается прибавлением ROUND_SHIFT: сумма округляется до целого,
+// которое затем читается из младших битов мантиссы без Math.rint и приведения double к int,
+// поэтому в теле цикла нет ни ветвлений, ни медленных путей преобразования.
+// Аргументы вне рабочего диапазона (большие по модулю, NaN, бесконечности, нули и
+// денормализованные числа для логарифма) передаются в Math, поэтому особые случаи
+// обрабатываются так же, как в обычных функциях.
+//
+// Наибольшая погрешность по сравнению с StrictMath (замер benchmarks.FastFunctionsBenchmark):
+//   sin, cos  - 3 ulp при |x| <= TRIG_LIMIT
+//   tan       - 4 ulp при |x| <= TRIG_LIMIT
+//   exp       - 2 ulp при |x| < EXP_LIMIT
+//   log       - 2 ulp на всех нормализованных положительных числах
+//
+// Пакетные exp и sinCos при подключенном модуле jdk.incubator.vector выполняются
+// классом VectorFastMath (каталог исходников vector/, см. ArrayMath) теми же операциями
+// в том же порядке, поэтому результат не зависит от пути.
+// Отдельные sin и cos остаются скалярными: в JDK 17 выборка из таблицы по индексам (gather)
+// не заменяется командами полностью, и векторный цикл с одной функцией медленнее скалярного.
+final class FastMath {
+
+    private FastMath() {
+    }
+
+    // Граница, до которой j * STEP_1 вычисляется точно (|j| < 2^20)
+    static final double TRIG_LIMIT = 1e5;
+
+    // За этой границей exp переполняется или дает денормализованное число
+    static final double EXP_LIMIT = 708;
+
+    // 1.5 * 2^52: после прибавления к |t| < 2^51 дробная часть t отбрасывается с округлением,
+    // а округленное значение оказывается в младших битах мантиссы
+    static final double ROUND_SHIFT = 0x1.8p52;
+
+    // pi/32, разбитое на части по 33 значащих бита (константы fdlibm для pi/2, деленные на 16)
+    static final double INV_STEP = 32 / Math.PI;
+    static final double STEP_1 = 1.57079632673412561417e+00 / 16;
+    static final double STEP_2 = 6.07710050630396597660e-11 / 16;
+    static final double STEP_3 = 2.02226624871116645580e-21 / 16;
+    static final double STEP_3T = 8.47842766036889956997e-32 / 16;
+
+    // sin и cos в точках j * pi/32, j = 0..63
+    static final double[] SIN_TABLE = new double[64];
+    static final double[] COS_TABLE = new double[64];
+
+    // ln 2 / 64: старшая часть с 32 значащими битами и младшая часть
+    static final double INV_LN2_64 = 64 / Math.log(2);
+    static final double LN2_64_HI = 6.93147180369123816490e-01 / 64;
+    static final double LN2_64_LO = 1.90821492927058770002e-10 / 64;
+
+    // 2^(j/64), j = 0..63
+    static final double[] EXP_TABLE = new double[64];
+
+    private static final double LN2_HI = 6.93147180369123816490e-01;
+    private static final double LN2_LO = 1.90821492927058770002e-10;
+    private static final long MANTISSA_MASK = 0x000FFFFFFFFFFFFFL;
+    // Мантисса sqrt(2): мантиссы не меньше нее приводятся к отрезку [sqrt(2)/2; sqrt(2))
+    private static final long SQRT2_MANTISSA = 0x0006A09E667F3BCDL;
+
+    // ln(j/128) и 128/j для узлов j/128 из [sqrt(2)/2; sqrt(2)], j = 91..181
+    private static final double[] LOG_TABLE = new double[182];
+    private static final double[] INV_NODE_TABLE = new double[182];
+
+    static {
+        // Значения в первой четверти; остальные - по формулам приведения, чтобы нули были точными
+        double[] quarter = new double[17];
+        for (int j = 0; j <= 16; j++) {
+            quarter[j] = StrictMath.sin(j * Math.PI / 32);
+        }
+        for (int j = 0; j < 64; j++) {
+            int q = j / 16;
+            int k = j % 16;
+            double s = quarter[k];
+            double c = quarter[16 - k];
+            switch (q) {
+                case 0:
+                    SIN_TABLE[j] = s;
+                    COS_TABLE[j] = c;
+                    break;
+                case 1:
+                    SIN_TABLE[j] = c;
+                    COS_TABLE[j] = -s;
+                    break;
+                case 2:
+                    SIN_TABLE[j] = -s;
+                    COS_TABLE[j] = -c;
+                    break;
+                default:
+                    SIN_TABLE[j] = -c;
+                    COS_TABLE[j] = s;
+                    break;
+            }
+        }
+
+        for (int j = 0; j < 64; j++) {
+            EXP_TABLE[j] = StrictMath.pow(2, j / 64.0);
+        }
+
+        for (int j = 91; j < LOG_TABLE.length; j++) {
+            LOG_TABLE[j] = StrictMath.log(j / 128.0);
+            INV_NODE_TABLE[j] = 128.0 / j;
+        }
+    }
+
+    // Пакетные ядра, выполняемые векторными командами
+    interface BatchKernels {
+        void exp(double[] xs, double[] values);
+
+        void sinCos(double[] xs, double[] sines, double[] cosines);
+    }
+
+    // Объявлено после таблиц: векторная реализация обращается к ним
+    private static final BatchKernels VECTOR = loadVector();
+
+    private static BatchKernels loadVector() {
+        if (!ArrayMath.isVectorized()) {
+            return null;
+        }
+        try {
+            return (BatchKernels) Class.forName("functions.basic.VectorFastMath").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    // Остаток x - j * pi/32 (|r| <= pi/64); вычитания старших частей выполняются точно
+    private static double trigRemainder(double x, double j) {
+        return (((x - j * STEP_1) - j * STEP_2) - j * STEP_3) - j * STEP_3T;
+    }
+
+    // sin(r) при |r| <= pi/64
+    private static double sinPoly(double r) {
+        double r2 = r * r;
+        return r + r * r2 * (-1.0 / 6 + r2 * (1.0 / 120 + r2 * (-1.0 / 5040 + r2 * (1.0 / 362880))));
+    }
+
+    // cos(r) - 1 при |r| <= pi/64
+    private static double cosm1Poly(double r) {
+        double r2 = r * r;
+        return r2 * (-0.5 + r2 * (1.0 / 24 + r2 * (-1.0 / 720 + r2 * (1.0 / 40320))));
+    }
+
+    static double sin(double x) {
+        // Ноль возвращается как есть, чтобы сохранить знак -0.0
+        if (x == 0 || !(Math.abs(x) <= TRIG_LIMIT)) {
+            return Math.sin(x);
+        }
+        double shifted = x * INV_STEP + ROUND_SHIFT;
+        double j = shifted - ROUND_SHIFT;
+        double r = trigRemainder(x, j);
+        int index = (int) Double.doubleToRawLongBits(shifted) & 63;
+        double s = SIN_TABLE[index];
+        double c = COS_TABLE[index];
+        // sin(a + r) = sin a + (sin a * (cos r - 1) + cos a * sin r)
+        return s + (s * cosm1Poly(r) + c * sinPoly(r));
+    }
+
+    static double cos(double x) {
+        if (!(Math.abs(x) <= TRIG_LIMIT)) {
+            return Math.cos(x);
+        }
+        double shifted = x * INV_STEP + ROUND_SHIFT;
+        double j = shifted - ROUND_SHIFT;
+        double r = trigRemainder(x, j);
+        int index = (int) Double.doubleToRawLongBits(shifted) & 63;
+        double s = SIN_TABLE[index];
+        double c = COS_TABLE[index];
+        // cos(a + r) = cos a + (cos a * (cos r - 1) - sin a * sin r)
+        return c + (c * cosm1Poly(r) - s * sinPoly(r));
+    }
+
+    static void sin(double[] xs, double[] values) {
+        for (int i = 0; i < xs.length; i++) {
+            values[i] = sin(xs[i]);
+        }
+    }
+
+    static void cos(double[] xs, double[] values) {
+        for (int i = 0; i < xs.length; i++) {
+            values[i] = cos(xs[i]);
+        }
+    }
+
+    static double tan(double x) {
+        // Ноль возвращается как есть, чтобы сохранить знак -0.0
+        if (x == 0 || !(Math.abs(x) <= TRIG_LIMIT)) {
+            return Math.tan(x);
+        }
+        double shifted = x * INV_STEP + ROUND_SHIFT;
+        double j = shifted - ROUND_SHIFT;
+        double r = trigRemainder(x, j);
+        int index = (int) Double.doubleToRawLongBits(shifted) & 63;
+        double s = SIN_TABLE[index];
+        double c = COS_TABLE[index];
+        double sr = sinPoly(r);
+        double cm1 = cosm1Poly(r);
+        return (s + (s * cm1 + c * sr)) / (c + (c * cm1 - s * sr));
+    }
+
+    // Синус и косинус с общим сведением аргумента; результат записывается в result
+    static void sinCos(double x, SinCos result) {
+        if (x == 0 || !(Math.abs(x) <= TRIG_LIMIT)) {
+            result.sin = Math.sin(x);
+            result.cos = Math.cos(x);
+            return;
+        }
+        double shifted = x * INV_STEP + ROUND_SHIFT;
+        double j = shifted - ROUND_SHIFT;
+        double r = trigRemainder(x, j);
+        int index = (int) Double.doubleToRawLongBits(shifted) & 63;
+        double s = SIN_TABLE[index];
+        double c = COS_TABLE[index];
+        double sr = sinPoly(r);
+        double cm1 = cosm1Poly(r);
+        result.sin = s + (s * cm1 + c * sr);
+        result.cos = c + (c * cm1 - s * sr);
+    }
+
+    static void sinCos(double[] xs, double[] sines, double[] cosines) {
+        if (VECTOR != null) {
+            VECTOR.sinCos(xs, sines, cosines);
+            return;
+        }
+        for (int i = 0; i < xs.length; i++) {
+            double x = xs[i];
+            if (x == 0 || !(Math.abs(x) <= TRIG_LIMIT)) {
+                sines[i] = Math.sin(x);
+                cosines[i] = Math.cos(x);
+                continue;
+            }
+            double shifted = x * INV_STEP + ROUND_SHIFT;
+            double j = shifted - ROUND_SHIFT;
+            double r = trigRemainder(x, j);
+            int index = (int) Double.doubleToRawLongBits(shifted) & 63;
+            double s = SIN_TABLE[index];
+            double c = COS_TABLE[index];
+            double sr = sinPoly(r);
+            double cm1 = cosm1Poly(r);
+            sines[i] = s + (s * cm1 + c * sr);
+            cosines[i] = c + (c * cm1 - s * sr);
+        }
+    }
+
+    // exp(x) = 2^k * 2^(j/64) * exp(r), где n = 64k + j = round(x * 64 / ln 2), |r| <= ln 2 / 128
+    static double exp(double x) {
+        if (!(Math.abs(x) < EXP_LIMIT)) {
+            return Math.exp(x);
+        }
+        double shifted = x * INV_LN2_64 + ROUND_SHIFT;
+        double n = shifted - ROUND_SHIFT;
+        double r = (x - n * LN2_64_HI) - n * LN2_64_LO;
+        int k = (int) Double.doubleToRawLongBits(shifted);
+        double t = EXP_TABLE[k & 63];
+        double p = r + r * r * (0.5 + r * (1.0 / 6 + r * (1.0 / 24 + r * (1.0 / 120 + r * (1.0 / 720)))));
+        double scale = Double.longBitsToDouble((long) ((k >> 6) + 1023) << 52);
+        return (t + t * p) * scale;
+    }
+
+    static void exp(double[] xs, double[] values) {
+        if (VECTOR != null) {
+            VECTOR.exp(xs, values);
+            return;
+        }
+        for (int i = 0; i < xs.length; i++) {
+            values[i] = exp(xs[i]);
+        }
+    }
+
+    // ln(x) = e * ln 2 + ln(c) + ln(1 + u), где x = 2^e * m, m из [sqrt(2)/2; sqrt(2)),
+    // c = j/128 - ближайший к m узел таблицы, u = (m - c) / c, |u| < 1/180
+    static double log(double x) {
+        if (!(x >= Double.MIN_NORMAL && x < Double.POSITIVE_INFINITY)) {
+            return Math.log(x);
+        }
+        long bits = Double.doubleToRawLongBits(x);
+        long mantissa = bits & MANTISSA_MASK;
+        // 1, если мантисса не меньше sqrt(2): тогда m делится на 2, а порядок увеличивается
+        long adjust = (SQRT2_MANTISSA - 1 - mantissa) >>> 63;
+        int e = (int) (bits >>> 52) - 1023 + (int) adjust;
+        double m = Double.longBitsToDouble(mantissa | ((1023 - adjust) << 52));
+        int j = (int) Double.doubleToRawLongBits(m * 128 + ROUND_SHIFT) & 0xFF;
+        // Разность m - c точная: c/2 <= m <= 2c
+        double u = (m - j * (1.0 / 128)) * INV_NODE_TABLE[j];
+        double p = u + u * u * (-0.5 + u * (1.0 / 3 + u * (-0.25 + u * (0.2 + u * (-1.0 / 6 + u * (1.0 / 7 + u * (-0.125)))))));
+        return (e * LN2_HI + LOG_TABLE[j]) + (e * LN2_LO + p);
+    }
+}
@@ -0,0 +1,14 @@
+package functions.basic;
+
+// Быстрый синус (см. FastMath): погрешность до 3 ulp при |x| <= 1e5, дальше - Math.sin
+public class FastSin extends TrigonometricFunction {
+    @Override
+    public double getFunctionValue(double x) {
+        return FastMath.sin(x);
+    }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        FastMath.sin(xs, values);
+    }
+}
@@ -0,0 +1,16 @@
+package functions.basic;
+
+// Быстрый тангенс (см. FastMath): погрешность до 4 ulp при |x| <= 1e5, дальше - Math.tan
+public class FastTan extends TrigonometricFunction {
+    @Override
+    public double getFunctionValue(double x) {
+        return FastMath.tan(x);
+    }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        for (int i = 0; i < xs.length; i++) {
+            values[i] = FastMath.tan(xs[i]);
+        }
+    }
+}
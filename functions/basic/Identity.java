@@ -0,0 +1,28 @@
+package functions.basic;
+
+import functions.Function;
+
+// Тождественная функция f(x) = x
+public class Identity implements Function {
+    @Override
+    public double getLeftDomainBorder() {
+        return Double.NEGATIVE_INFINITY;
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        return x;
+    }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        if (values != xs) {
+            System.arraycopy(xs, 0, values, 0, xs.length);
+        }
+    }
+}
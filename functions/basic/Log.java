@@ -4,12 +4,15 @@ import functions.Function;
 
 public class Log implements Function {
     private double base;
+    // ln(base) вычисляется один раз; деление на него дает те же значения, что и прежде
+    private final double logBase;
 
     public Log(double base) {
         if (base <= 0 || base == 1) {
             throw new IllegalArgumentException("Основание логарифма должно быть > 0 и ≠ 1");
         }
         this.base = base;
+        this.logBase = Math.log(base);
     }
 
     @Override
@@ -24,7 +27,14 @@ public class Log implements Function {
 
     @Override
     public double getFunctionValue(double x) {
-        return Math.log(x) / Math.log(base);
+        return Math.log(x) / logBase;
+    }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        for (int i = 0; i < xs.length; i++) {
+            values[i] = Math.log(xs[i]) / logBase;
+        }
     }
 
     public double getBase() {
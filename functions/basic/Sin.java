@@ -5,4 +5,11 @@ public class Sin extends TrigonometricFunction {
     public double getFunctionValue(double x) {
         return Math.sin(x);
     }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        for (int i = 0; i < xs.length; i++) {
+            values[i] = Math.sin(xs[i]);
+        }
+    }
 }
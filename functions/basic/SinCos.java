@@ -0,0 +1,39 @@
+package functions.basic;
+
+// Одновременное вычисление синуса и косинуса одного аргумента.
+// Сведение аргумента общее, поэтому пара стоит почти столько же, сколько одна функция.
+// Точность такая же, как у FastSin и FastCos (3 ulp при |x| <= 1e5).
+//
+// Объект хранит результат последнего вызова evaluate и не создает новых объектов:
+//   SinCos sc = new SinCos();
+//   sc.evaluate(x);
+//   double s = sc.getSin(), c = sc.getCos();
+// Один объект не следует использовать из нескольких потоков одновременно.
+public final class SinCos {
+    double sin;
+    double cos;
+
+    public SinCos() {
+    }
+
+    public SinCos(double x) {
+        evaluate(x);
+    }
+
+    public void evaluate(double x) {
+        FastMath.sinCos(x, this);
+    }
+
+    public double getSin() {
+        return sin;
+    }
+
+    public double getCos() {
+        return cos;
+    }
+
+    // Синусы и косинусы массива аргументов
+    public static void evaluate(double[] xs, double[] sines, double[] cosines) {
+        FastMath.sinCos(xs, sines, cosines);
+    }
+}
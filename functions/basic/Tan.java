@@ -5,4 +5,11 @@ public class Tan extends TrigonometricFunction {
     public double getFunctionValue(double x) {
         return Math.tan(x);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        for (int i = 0; i < xs.length; i++) {
+            values[i] = Math.tan(xs[i]);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package functions.derivative;
+
+import functions.CompiledFunction;
+import functions.Function;
+import functions.TabulatedFunction;
+import functions.basic.*;
+import functions.meta.*;
+
+// Символьное дифференцирование деревьев функций functions.basic и functions.meta.
+//
+// derivative строит дерево производной по правилам дифференцирования и сразу упрощает его:
+// константные поддеревья сворачиваются, слагаемые 0 и множители 1 отбрасываются, умножение
+// на константу становится масштабом по оси Y. Табулированные функции дифференцируются
+// по наклонам интерполяции (TabulatedDerivative). Для узлов других типов производная
+// не определена - бросается UnsupportedOperationException.
+// После упрощения область определения производной может оказаться шире, чем у функции.
+//
+// Для вычисления значения и производной за один проход по дереву см. DualFunction
+public final class Derivatives {
+
+    private Derivatives() {
+    }
+
+    // Производная функции f
+    public static Function derivative(Function f) {
+        if (f instanceof CompiledFunction) {
+            return derivative(((CompiledFunction) f).getSource());
+        }
+        if (f instanceof Cached) {
+            return derivative(((Cached) f).getF());
+        }
+        if (f instanceof Constant) {
+            return new Constant(0);
+        }
+        if (f instanceof Identity) {
+            return new Constant(1);
+        }
+        if (f instanceof Sin) {
+            return new Cos();
+        }
+        if (f instanceof FastSin) {
+            return new FastCos();
+        }
+        if (f instanceof Cos) {
+            return new Scale(new Sin(), 1, -1);
+        }
+        if (f instanceof FastCos) {
+            return new Scale(new FastSin(), 1, -1);
+        }
+        // (tg x)' = 1 / cos^2 x
+        if (f instanceof Tan) {
+            return new Power(new Cos(), -2);
+        }
+        if (f instanceof FastTan) {
+            return new Power(new FastCos(), -2);
+        }
+        if (f instanceof Exp || f instanceof FastExp) {
+            return f;
+        }
+        // (log_b x)' = 1 / (x ln b)
+        if (f instanceof Log) {
+            return new Scale(new Power(new Identity(), -1), 1, 1 / Math.log(((Log) f).getBase()));
+        }
+        if (f instanceof FastLog) {
+            return new Scale(new Power(new Identity(), -1), 1, 1 / Math.log(((FastLog) f).getBase()));
+        }
+        if (f instanceof Shift) {
+            Shift shift = (Shift) f;
+            return shift(derivative(shift.getF()), shift.getShiftX(), 0);
+        }
+        // (sy * g(x / sx))' = sy / sx * g'(x / sx)
+        if (f instanceof Scale) {
+            Scale scale = (Scale) f;
+            return scale(derivative(scale.getF()), scale.getScaleX(), scale.getScaleY() / scale.getScaleX());
+        }
+        if (f instanceof Power) {
+            Power power = (Power) f;
+            double p = power.getPower();
+            if (p == 0) {
+                return new Constant(0);
+            }
+            return multiply(scaleY(power(power.getF(), p - 1), p), derivative(power.getF()));
+        }
+        if (f instanceof Sum) {
+            Sum sum = (Sum) f;
+            return sum(derivative(sum.getF1()), derivative(sum.getF2()));
+        }
+        if (f instanceof Mult) {
+            Mult mult = (Mult) f;
+            return sum(multiply(derivative(mult.getF1()), mult.getF2()),
+                    multiply(mult.getF1(), derivative(mult.getF2())));
+        }
+        // Composition(f1, f2) = f2(f1(x)), производная - f2'(f1(x)) * f1'(x)
+        if (f instanceof Composition) {
+            Composition composition = (Composition) f;
+            return multiply(compose(composition.getF1(), derivative(composition.getF2())),
+                    derivative(composition.getF1()));
+        }
+        if (f instanceof TabulatedFunction) {
+            return new TabulatedDerivative((TabulatedFunction) f);
+        }
+
+        throw new UnsupportedOperationException("Производная функции " + f.getClass().getName() + " не определена");
+    }
+
+    // Функция, вычисляющая значение и производную f за один проход (дуальные числа)
+    public static DualFunction dual(Function f) {
+        return new DualFunction(f);
+    }
+
+    // Упрощающие конструкторы узлов
+
+    private static boolean isConstant(Function f, double value) {
+        return f instanceof Constant && ((Constant) f).getValue() == value;
+    }
+
+    private static Function sum(Function f1, Function f2) {
+        if (f1 instanceof Constant && f2 instanceof Constant) {
+            return new Constant(((Constant) f1).getValue() + ((Constant) f2).getValue());
+        }
+        if (isConstant(f1, 0)) {
+            return f2;
+        }
+        if (isConstant(f2, 0)) {
+            return f1;
+        }
+        return new Sum(f1, f2);
+    }
+
+    private static Function multiply(Function f1, Function f2) {
+        if (f1 instanceof Constant) {
+            return scaleY(f2, ((Constant) f1).getValue());
+        }
+        if (f2 instanceof Constant) {
+            return scaleY(f1, ((Constant) f2).getValue());
+        }
+        return new Mult(f1, f2);
+    }
+
+    // Умножение значений функции на c
+    private static Function scaleY(Function f, double c) {
+        if (c == 0) {
+            return new Constant(0);
+        }
+        if (c == 1) {
+            return f;
+        }
+        if (f instanceof Constant) {
+            return new Constant(((Constant) f).getValue() * c);
+        }
+        if (f instanceof Scale) {
+            Scale scale = (Scale) f;
+            return new Scale(scale.getF(), scale.getScaleX(), scale.getScaleY() * c);
+        }
+        return new Scale(f, 1, c);
+    }
+
+    private static Function scale(Function f, double scaleX, double scaleY) {
+        if (f instanceof Constant) {
+            return new Constant(((Constant) f).getValue() * scaleY);
+        }
+        if (scaleX == 1) {
+            return scaleY(f, scaleY);
+        }
+        return new Scale(f, scaleX, scaleY);
+    }
+
+    private static Function shift(Function f, double shiftX, double shiftY) {
+        if (f instanceof Constant) {
+            return new Constant(((Constant) f).getValue() + shiftY);
+        }
+        if (shiftX == 0 && shiftY == 0) {
+            return f;
+        }
+        return new Shift(f, shiftX, shiftY);
+    }
+
+    private static Function power(Function f, double p) {
+        if (p == 0) {
+            return new Constant(1);
+        }
+        if (p == 1) {
+            return f;
+        }
+        if (f instanceof Constant) {
+            return new Constant(Math.pow(((Constant) f).getValue(), p));
+        }
+        return new Power(f, p);
+    }
+
+    // Композиция: outer(inner(x))
+    private static Function compose(Function inner, Function outer) {
+        if (outer instanceof Constant || inner instanceof Identity) {
+            return outer;
+        }
+        if (outer instanceof Identity) {
+            return inner;
+        }
+        if (inner instanceof Constant) {
+            return new Constant(outer.getFunctionValue(((Constant) inner).getValue()));
+        }
+        return new Composition(inner, outer);
+    }
+}
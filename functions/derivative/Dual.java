@@ -0,0 +1,62 @@
+package functions.derivative;
+
+// Дуальное число value + derivative * e (e * e = 0): значение функции вместе с ее производной.
+// Арифметика над дуальными числами переносит производную по правилам дифференцирования,
+// поэтому одно вычисление дерева функции дает и значение, и точную производную
+public final class Dual {
+
+    private final double value;
+    private final double derivative;
+
+    public Dual(double value, double derivative) {
+        this.value = value;
+        this.derivative = derivative;
+    }
+
+    // Независимая переменная: производная x по x равна 1
+    public static Dual variable(double x) {
+        return new Dual(x, 1);
+    }
+
+    public static Dual constant(double c) {
+        return new Dual(c, 0);
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public double getDerivative() {
+        return derivative;
+    }
+
+    public Dual add(Dual other) {
+        return new Dual(value + other.value, derivative + other.derivative);
+    }
+
+    public Dual add(double c) {
+        return new Dual(value + c, derivative);
+    }
+
+    public Dual multiply(Dual other) {
+        return new Dual(value * other.value, derivative * other.value + value * other.derivative);
+    }
+
+    public Dual multiply(double c) {
+        return new Dual(value * c, derivative * c);
+    }
+
+    public Dual divide(double c) {
+        return new Dual(value / c, derivative / c);
+    }
+
+    // Применение функции с известными значением f(value) и производной f'(value) (цепное правило)
+    public Dual apply(double functionValue, double functionDerivative) {
+        return new Dual(functionValue, functionDerivative * derivative);
+    }
+
+    @Override
+    public String toString() {
+        return value + " + " + derivative + "e";
+    }
+}
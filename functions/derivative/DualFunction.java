@@ -0,0 +1,128 @@
+package functions.derivative;
+
+import functions.CompiledFunction;
+import functions.Function;
+import functions.basic.*;
+import functions.meta.*;
+
+// Вычисление значения функции и ее производной за один проход по дереву (прямой режим
+// автоматического дифференцирования на дуальных числах).
+//
+// При создании дерево functions.meta переводится в дерево вычислителей, а для листьев
+// (элементарных и табулированных функций) один раз строятся их производные (Derivatives).
+// Значение совпадает с исходной функцией, кроме скомпилированных (CompiledFunction):
+// они вычисляются по исходному дереву. Табулированные функции дифференцируются
+// по наклонам на момент создания объекта; после изменения их точек объект нужно создать заново.
+// Для узлов неизвестных типов бросается UnsupportedOperationException
+public class DualFunction implements Function {
+
+    // Вычислитель узла: значение и производная узла по значению и производной аргумента
+    private interface Node {
+        Dual evaluate(Dual x);
+    }
+
+    private final Function source;
+    private final Node root;
+
+    public DualFunction(Function source) {
+        this.source = source;
+        this.root = compile(source);
+    }
+
+    public Function getSource() {
+        return source;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return source.getLeftDomainBorder();
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return source.getRightDomainBorder();
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        return evaluate(x).getValue();
+    }
+
+    // Производная в точке x
+    public double getDerivative(double x) {
+        return evaluate(x).getDerivative();
+    }
+
+    // Значение и производная в точке x
+    public Dual evaluate(double x) {
+        return root.evaluate(Dual.variable(x));
+    }
+
+    private static Node compile(Function f) {
+        if (f instanceof CompiledFunction) {
+            return compile(((CompiledFunction) f).getSource());
+        }
+        if (f instanceof Cached) {
+            return compile(((Cached) f).getF());
+        }
+        if (f instanceof Constant) {
+            Dual constant = Dual.constant(((Constant) f).getValue());
+            return x -> constant;
+        }
+        if (f instanceof Identity) {
+            return x -> x;
+        }
+        if (f instanceof Exp || f instanceof FastExp) {
+            return x -> {
+                double value = f.getFunctionValue(x.getValue());
+                return x.apply(value, value);
+            };
+        }
+        if (f instanceof Shift) {
+            Shift shift = (Shift) f;
+            Node inner = compile(shift.getF());
+            double shiftX = shift.getShiftX();
+            double shiftY = shift.getShiftY();
+            return x -> inner.evaluate(x.add(-shiftX)).add(shiftY);
+        }
+        if (f instanceof Scale) {
+            Scale scale = (Scale) f;
+            Node inner = compile(scale.getF());
+            double scaleX = scale.getScaleX();
+            double scaleY = scale.getScaleY();
+            return x -> inner.evaluate(x.divide(scaleX)).multiply(scaleY);
+        }
+        if (f instanceof Power) {
+            Power power = (Power) f;
+            Node inner = compile(power.getF());
+            double p = power.getPower();
+            return x -> {
+                Dual u = inner.evaluate(x);
+                double v = u.getValue();
+                return u.apply(Math.pow(v, p), p == 0 ? 0 : p * Math.pow(v, p - 1));
+            };
+        }
+        if (f instanceof Sum) {
+            Sum sum = (Sum) f;
+            Node first = compile(sum.getF1());
+            Node second = compile(sum.getF2());
+            return x -> first.evaluate(x).add(second.evaluate(x));
+        }
+        if (f instanceof Mult) {
+            Mult mult = (Mult) f;
+            Node first = compile(mult.getF1());
+            Node second = compile(mult.getF2());
+            return x -> first.evaluate(x).multiply(second.evaluate(x));
+        }
+        if (f instanceof Composition) {
+            Composition composition = (Composition) f;
+            Node inner = compile(composition.getF1());
+            Node outer = compile(composition.getF2());
+            return x -> outer.evaluate(inner.evaluate(x));
+        }
+
+        // Лист: значение - сама функция, производная - ее символьная производная
+        Function derivative = Derivatives.derivative(f);
+        return x -> x.apply(f.getFunctionValue(x.getValue()), derivative.getFunctionValue(x.getValue()));
+    }
+}
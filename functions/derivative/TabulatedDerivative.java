@@ -0,0 +1,67 @@
+package functions.derivative;
+
+import functions.Function;
+import functions.Interpolation;
+import functions.PointArrays;
+import functions.TabulatedFunction;
+
+import java.util.Arrays;
+
+// Производная табулированной функции. При создании копируются узлы и вычисляются наклоны:
+// для линейной интерполяции - наклоны хорд (производная кусочно-постоянна), для кубической -
+// наклоны в узлах, по которым производная эрмитова многочлена вычисляется на интервале.
+// В узле берется интервал справа от него, в последнем узле - последний интервал.
+// Вне области определения производная, как и сама функция, не определена (NaN).
+// Последующие изменения исходной функции на производную не влияют
+public class TabulatedDerivative implements Function {
+
+    private final double[] xs;
+    private final double[] ys;
+    private final Interpolation interpolation;
+    // Наклоны хорд (линейная интерполяция) или наклоны в узлах (кубическая)
+    private final double[] slopes;
+
+    public TabulatedDerivative(TabulatedFunction function) {
+        PointArrays points = PointArrays.of(function);
+        xs = points.getXValues();
+        ys = points.getYValues();
+        int pointsCount = points.size();
+
+        interpolation = function.getInterpolation();
+        if (interpolation == Interpolation.LINEAR) {
+            slopes = new double[pointsCount - 1];
+            for (int i = 0; i < slopes.length; i++) {
+                slopes[i] = (ys[i + 1] - ys[i]) / (xs[i + 1] - xs[i]);
+            }
+        } else {
+            slopes = interpolation.computeSlopes(xs, ys);
+        }
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return xs[0];
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return xs[xs.length - 1];
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (!(x >= xs[0] && x <= xs[xs.length - 1])) {
+            return Double.NaN;
+        }
+        int i = Arrays.binarySearch(xs, x);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        i = Math.min(i, xs.length - 2);
+
+        if (interpolation == Interpolation.LINEAR) {
+            return slopes[i];
+        }
+        return Interpolation.hermiteSlope(xs[i], ys[i], slopes[i], xs[i + 1], ys[i + 1], slopes[i + 1], x);
+    }
+}
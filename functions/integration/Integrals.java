@@ -0,0 +1,419 @@
+package functions.integration;
+
+import functions.Function;
+import functions.PointArrays;
+import functions.PointConsumer;
+import functions.TabulatedFunction;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Численное интегрирование функций.
+//
+// trapezoid - точный интеграл ломаной по узлам табулированной функции за один проход по точкам;
+// для многократных интегралов по частям области определения см. TabulatedIntegral.
+// simpson и gaussKronrod - адаптивные методы для произвольной функции: отрезок делится пополам,
+// пока оценка погрешности на части больше ее доли допустимой погрешности. Верхние уровни
+// дробления выполняются параллельными задачами пула, поэтому функция должна допускать
+// одновременные вызовы getFunctionValue. Дробление ограничено глубиной, и если точность
+// не достигнута (особенности, разрывы), результат содержит фактическую оценку погрешности.
+// Оценка погрешности верна только для функции, гладкой на каждой части: изломы между узлами
+// разбиения она не замечает. Поэтому отрезок интегрирования табулированной функции сначала
+// делится по ее узлам (между узлами любая интерполяция - многочлен не выше третьей степени),
+// а для других негладких функций (например, композиций с табулированными) оценка может
+// оказаться заниженной
+public final class Integrals {
+
+    private Integrals() {
+    }
+
+    // Наибольшая глубина дробления отрезка адаптивными методами
+    private static final int MAX_DEPTH = 40;
+
+    // До этой глубины половины отрезка обрабатываются параллельными задачами
+    private static final int FORK_DEPTH = 4;
+
+    // Наименьшее количество интервалов между узлами табулированной функции на одну задачу
+    private static final int PIECES_PER_TASK = 64;
+
+    // Узлы формулы Кронрода по 15 точкам на [-1, 1] (неотрицательные, по убыванию);
+    // узлы с нечетными индексами - узлы формулы Гаусса по 7 точкам
+    private static final double[] KRONROD_NODES = {
+            0.991455371120812639206854697526329, 0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926, 0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013, 0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245, 0.0
+    };
+
+    private static final double[] KRONROD_WEIGHTS = {
+            0.022935322010529224963732008058970, 0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518, 0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550, 0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649, 0.209482141084727828012999174891714
+    };
+
+    // Веса формулы Гаусса для узлов KRONROD_NODES[1], [3], [5], [7]
+    private static final double[] GAUSS_WEIGHTS = {
+            0.129484966168869693270611432679082, 0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975, 0.417959183673469387755102040816327
+    };
+
+    // Интеграл ломаной по узлам табулированной функции по всей области определения.
+    // Для линейной интерполяции это точный интеграл функции; оценка погрешности - граница
+    // погрешности округления суммы
+    public static IntegrationResult trapezoid(TabulatedFunction function) {
+        TrapezoidSum sum = new TrapezoidSum();
+        function.forEachPoint(sum);
+        return new IntegrationResult(sum.value, sum.count * Math.ulp(sum.absolute), sum.count);
+    }
+
+    // Сумма площадей трапеций по точкам, передаваемым по возрастанию X
+    private static final class TrapezoidSum implements PointConsumer {
+        double value;
+        double absolute;
+        int count;
+        private double previousX;
+        private double previousY;
+
+        @Override
+        public void accept(double x, double y) {
+            if (count > 0) {
+                double area = (x - previousX) * (previousY + y) * 0.5;
+                value += area;
+                absolute += Math.abs(area);
+            }
+            previousX = x;
+            previousY = y;
+            count++;
+        }
+    }
+
+    // Адаптивная формула Симпсона в общем пуле потоков
+    public static IntegrationResult simpson(Function function, double a, double b, double tolerance) {
+        return simpson(function, a, b, tolerance, ForkJoinPool.commonPool());
+    }
+
+    // Интеграл от a до b адаптивной формулой Симпсона с допустимой абсолютной погрешностью tolerance.
+    // Часть отрезка принимается, когда формулы Симпсона на ней и на двух ее половинах отличаются
+    // не более чем на 15 * (доля tolerance); принятое значение уточняется экстраполяцией Ричардсона.
+    // Отрезок всегда делится не менее чем на 16 частей (для табулированной функции - на интервалы
+    // между узлами, которые дальше делятся только при необходимости)
+    public static IntegrationResult simpson(Function function, double a, double b, double tolerance,
+                                            ForkJoinPool pool) {
+        checkArguments(function, a, b, tolerance);
+
+        double[] breaks = tableBreaks(function, a, b);
+        Part task = breaks == null
+                ? simpsonTask(function, a, b, tolerance, 0)
+                : new PiecesTask(breaks, 0, breaks.length - 1, tolerance,
+                (left, right, pieceTolerance) -> simpsonTask(function, left, right, pieceTolerance, FORK_DEPTH));
+        pool.invoke(task);
+        return new IntegrationResult(task.value, task.error, task.evaluations);
+    }
+
+    // Задача Симпсона на [a, b]; значения на концах и в середине вычисляются сразу
+    private static SimpsonTask simpsonTask(Function function, double a, double b, double tolerance, int depth) {
+        double m = a + (b - a) * 0.5;
+        double fa = function.getFunctionValue(a);
+        double fm = function.getFunctionValue(m);
+        double fb = function.getFunctionValue(b);
+        SimpsonTask task = new SimpsonTask(function, a, fa, m, fm, b, fb,
+                simpsonRule(a, fa, fm, b, fb), tolerance, depth);
+        task.evaluations = 3;
+        return task;
+    }
+
+    // Адаптивная формула Гаусса - Кронрода в общем пуле потоков
+    public static IntegrationResult gaussKronrod(Function function, double a, double b, double tolerance) {
+        return gaussKronrod(function, a, b, tolerance, ForkJoinPool.commonPool());
+    }
+
+    // Интеграл от a до b адаптивной формулой Гаусса - Кронрода по 7 и 15 точкам с допустимой
+    // абсолютной погрешностью tolerance. Значение на части отрезка дает формула Кронрода, а
+    // погрешность оценивается ее отличием от формулы Гаусса по вложенным узлам. Значения
+    // в 15 узлах вычисляются одним вызовом getFunctionValues
+    public static IntegrationResult gaussKronrod(Function function, double a, double b, double tolerance,
+                                                 ForkJoinPool pool) {
+        checkArguments(function, a, b, tolerance);
+
+        double[] breaks = tableBreaks(function, a, b);
+        Part task = breaks == null
+                ? new KronrodTask(function, a, b, tolerance, 0)
+                : new PiecesTask(breaks, 0, breaks.length - 1, tolerance,
+                (left, right, pieceTolerance) -> new KronrodTask(function, left, right, pieceTolerance, FORK_DEPTH));
+        pool.invoke(task);
+        return new IntegrationResult(task.value, task.error, task.evaluations);
+    }
+
+    private static void checkArguments(Function function, double a, double b, double tolerance) {
+        if (!(Double.isFinite(a) && Double.isFinite(b))) {
+            throw new IllegalArgumentException("Пределы интегрирования " + a + ", " + b + " должны быть конечными");
+        }
+        if (Math.min(a, b) < function.getLeftDomainBorder() || Math.max(a, b) > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException("Отрезок интегрирования [" + a + ", " + b + "] " +
+                    "выходит за область определения функции [" +
+                    function.getLeftDomainBorder() + ", " + function.getRightDomainBorder() + "]");
+        }
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Допустимая погрешность " + tolerance + " должна быть положительной");
+        }
+    }
+
+    // Границы частей отрезка от a до b для табулированной функции: a, узлы строго между a и b
+    // в порядке от a к b, b. Если функция не табулированная или узлов внутри отрезка нет, null
+    private static double[] tableBreaks(Function function, double a, double b) {
+        if (!(function instanceof TabulatedFunction)) {
+            return null;
+        }
+        double[] xs = PointArrays.of((TabulatedFunction) function).getXValues();
+        double low = Math.min(a, b);
+        double high = Math.max(a, b);
+        int from = Arrays.binarySearch(xs, low);
+        from = from < 0 ? -from - 1 : from + 1;
+        int to = Arrays.binarySearch(xs, high);
+        to = to < 0 ? -to - 1 : to;
+        if (from >= to) {
+            return null;
+        }
+
+        double[] breaks = new double[to - from + 2];
+        breaks[0] = a;
+        breaks[breaks.length - 1] = b;
+        for (int i = from; i < to; i++) {
+            breaks[a < b ? i - from + 1 : to - i] = xs[i];
+        }
+        return breaks;
+    }
+
+    private static double simpsonRule(double a, double fa, double fm, double b, double fb) {
+        return (b - a) / 6 * (fa + 4 * fm + fb);
+    }
+
+    // Задача, результат которой - в полях value (значение интеграла), error (оценка погрешности)
+    // и evaluations (количество вычислений функции)
+    private abstract static class Part extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        double value;
+        double error;
+        long evaluations;
+    }
+
+    // Задача интегрирования одной части отрезка с допустимой погрешностью tolerance
+    @FunctionalInterface
+    private interface PartFactory {
+        Part create(double a, double b, double tolerance);
+    }
+
+    // Интегрирование по частям между границами breaks[from], ..., breaks[to]: каждая часть -
+    // отдельная задача фабрики с долей tolerance, пропорциональной ее длине. Группы частей
+    // делятся пополам и обрабатываются параллельно
+    private static final class PiecesTask extends Part {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] breaks;
+        private final int from, to;
+        private final double tolerance;
+        private final PartFactory factory;
+
+        PiecesTask(double[] breaks, int from, int to, double tolerance, PartFactory factory) {
+            this.breaks = breaks;
+            this.from = from;
+            this.to = to;
+            this.tolerance = tolerance;
+            this.factory = factory;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PIECES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                double middleTolerance = tolerance * fraction(from, middle);
+                PiecesTask left = new PiecesTask(breaks, from, middle, middleTolerance, factory);
+                PiecesTask right = new PiecesTask(breaks, middle, to, tolerance - middleTolerance, factory);
+                invokeAll(left, right);
+                value += left.value + right.value;
+                error += left.error + right.error;
+                evaluations += left.evaluations + right.evaluations;
+                return;
+            }
+
+            for (int i = from; i < to; i++) {
+                Part part = factory.create(breaks[i], breaks[i + 1], tolerance * fraction(i, i + 1));
+                part.invoke();
+                value += part.value;
+                // Формулы на частях точны, и заметную долю погрешности дает округление суммы частей
+                error += part.error + Math.ulp(part.value) + Math.ulp(value);
+                evaluations += part.evaluations;
+            }
+        }
+
+        // Доля длины частей с from по to (не включая) в длине всех частей задачи
+        private double fraction(int from, int to) {
+            return Math.abs(breaks[to] - breaks[from]) / Math.abs(breaks[this.to] - breaks[this.from]);
+        }
+    }
+
+    // Задача интегрирования на [a, b], где известны значения на концах, в середине m
+    // и формула Симпсона whole по этим трем точкам
+    private static final class SimpsonTask extends Part {
+        private static final long serialVersionUID = 1L;
+
+        private final Function function;
+        private final double a, fa, m, fm, b, fb, whole, tolerance;
+        private final int depth;
+
+        SimpsonTask(Function function, double a, double fa, double m, double fm, double b, double fb,
+                    double whole, double tolerance, int depth) {
+            this.function = function;
+            this.a = a;
+            this.fa = fa;
+            this.m = m;
+            this.fm = fm;
+            this.b = b;
+            this.fb = fb;
+            this.whole = whole;
+            this.tolerance = tolerance;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (depth >= FORK_DEPTH) {
+                integrate(a, fa, m, fm, b, fb, whole, tolerance, depth);
+                return;
+            }
+
+            double lm = a + (m - a) * 0.5;
+            double rm = m + (b - m) * 0.5;
+            double flm = function.getFunctionValue(lm);
+            double frm = function.getFunctionValue(rm);
+            evaluations += 2;
+            double left = simpsonRule(a, fa, flm, m, fm);
+            double right = simpsonRule(m, fm, frm, b, fb);
+
+            // На верхних уровнях отрезок делится всегда: по пяти точкам периодическая функция
+            // может совпасть с многочленом (sin на [0, 100] дает две близкие формулы Симпсона)
+            SimpsonTask leftTask = new SimpsonTask(function, a, fa, lm, flm, m, fm, left, tolerance * 0.5, depth + 1);
+            SimpsonTask rightTask = new SimpsonTask(function, m, fm, rm, frm, b, fb, right, tolerance * 0.5, depth + 1);
+            invokeAll(leftTask, rightTask);
+            value += leftTask.value + rightTask.value;
+            error += leftTask.error + rightTask.error;
+            evaluations += leftTask.evaluations + rightTask.evaluations;
+        }
+
+        // Последовательное дробление внутри одного потока
+        private void integrate(double a, double fa, double m, double fm, double b, double fb,
+                               double whole, double tolerance, int depth) {
+            double lm = a + (m - a) * 0.5;
+            double rm = m + (b - m) * 0.5;
+            double flm = function.getFunctionValue(lm);
+            double frm = function.getFunctionValue(rm);
+            evaluations += 2;
+            double left = simpsonRule(a, fa, flm, m, fm);
+            double right = simpsonRule(m, fm, frm, b, fb);
+            if (accept(whole, left, right, tolerance, depth)) {
+                addPart(whole, left, right);
+                return;
+            }
+            integrate(a, fa, lm, flm, m, fm, left, tolerance * 0.5, depth + 1);
+            integrate(m, fm, rm, frm, b, fb, right, tolerance * 0.5, depth + 1);
+        }
+
+        // Неопределенные и бесконечные значения дроблением не уточняются
+        private static boolean accept(double whole, double left, double right, double tolerance, int depth) {
+            double difference = Math.abs(left + right - whole);
+            return depth >= MAX_DEPTH || !(difference > 15 * tolerance) || Double.isInfinite(difference);
+        }
+
+        private void addPart(double whole, double left, double right) {
+            double halves = left + right;
+            value += halves + (halves - whole) / 15;
+            error += Math.abs(halves - whole) / 15;
+        }
+    }
+
+    // Задача интегрирования на [a, b] формулой Гаусса - Кронрода с дроблением пополам
+    private static final class KronrodTask extends Part {
+        private static final long serialVersionUID = 1L;
+
+        private final Function function;
+        private final double a, b, tolerance;
+        private final int depth;
+
+        KronrodTask(Function function, double a, double b, double tolerance, int depth) {
+            this.function = function;
+            this.a = a;
+            this.b = b;
+            this.tolerance = tolerance;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (depth >= FORK_DEPTH) {
+                integrate(a, b, tolerance, depth, new double[15], new double[15]);
+                return;
+            }
+
+            double[] xs = new double[15];
+            double[] values = new double[15];
+            if (acceptRule(a, b, tolerance, depth, xs, values)) {
+                return;
+            }
+            double m = a + (b - a) * 0.5;
+            KronrodTask left = new KronrodTask(function, a, m, tolerance * 0.5, depth + 1);
+            KronrodTask right = new KronrodTask(function, m, b, tolerance * 0.5, depth + 1);
+            invokeAll(left, right);
+            value += left.value + right.value;
+            error += left.error + right.error;
+            evaluations += left.evaluations + right.evaluations;
+        }
+
+        // Последовательное дробление внутри одного потока; xs и values - рабочие массивы узлов
+        private void integrate(double a, double b, double tolerance, int depth, double[] xs, double[] values) {
+            if (acceptRule(a, b, tolerance, depth, xs, values)) {
+                return;
+            }
+            double m = a + (b - a) * 0.5;
+            integrate(a, m, tolerance * 0.5, depth + 1, xs, values);
+            integrate(m, b, tolerance * 0.5, depth + 1, xs, values);
+        }
+
+        // Вычисляет обе формулы на [a, b]; если точность достаточна, добавляет часть к результату
+        private boolean acceptRule(double a, double b, double tolerance, int depth, double[] xs, double[] values) {
+            double center = a + (b - a) * 0.5;
+            double halfLength = (b - a) * 0.5;
+            for (int j = 0; j < 7; j++) {
+                double dx = halfLength * KRONROD_NODES[j];
+                xs[2 * j] = center - dx;
+                xs[2 * j + 1] = center + dx;
+            }
+            xs[14] = center;
+            function.getFunctionValues(xs, values);
+            evaluations += 15;
+
+            double kronrod = KRONROD_WEIGHTS[7] * values[14];
+            double gauss = GAUSS_WEIGHTS[3] * values[14];
+            for (int j = 0; j < 7; j++) {
+                double pair = values[2 * j] + values[2 * j + 1];
+                kronrod += KRONROD_WEIGHTS[j] * pair;
+                if ((j & 1) != 0) {
+                    gauss += GAUSS_WEIGHTS[j >> 1] * pair;
+                }
+            }
+            kronrod *= halfLength;
+            gauss *= halfLength;
+
+            // Неопределенные и бесконечные значения дроблением не уточняются
+            double difference = Math.abs(kronrod - gauss);
+            if (depth >= MAX_DEPTH || !(difference > tolerance) || Double.isInfinite(difference)) {
+                value += kronrod;
+                error += difference;
+                return true;
+            }
+            return false;
+        }
+    }
+}
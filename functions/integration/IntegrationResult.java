@@ -0,0 +1,34 @@
+package functions.integration;
+
+// Результат численного интегрирования: значение интеграла, оценка его абсолютной погрешности
+// и количество вычислений подынтегральной функции (для табулированных функций - количество
+// прочитанных точек)
+public final class IntegrationResult {
+
+    private final double value;
+    private final double errorEstimate;
+    private final long evaluations;
+
+    public IntegrationResult(double value, double errorEstimate, long evaluations) {
+        this.value = value;
+        this.errorEstimate = errorEstimate;
+        this.evaluations = evaluations;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public double getErrorEstimate() {
+        return errorEstimate;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    @Override
+    public String toString() {
+        return value + " ± " + errorEstimate + " (" + evaluations + " вычислений)";
+    }
+}
@@ -0,0 +1,78 @@
+package functions.integration;
+
+import functions.PointArrays;
+import functions.TabulatedFunction;
+
+import java.util.Arrays;
+
+// Индекс для быстрого вычисления определенных интегралов табулированной функции.
+// При создании точки функции копируются и для каждого узла запоминается интеграл
+// от левой границы до него (префиксные суммы площадей трапеций), после чего интеграл
+// по любому отрезку [a, b] области определения вычисляется за O(log n): двоичный поиск
+// интервалов, содержащих a и b, разность префиксных сумм и две неполные трапеции.
+// Интегрируется ломаная по узлам (линейная интерполяция); последующие изменения
+// исходной функции на индекс не влияют
+public final class TabulatedIntegral {
+
+    private final double[] xs;
+    private final double[] ys;
+    // prefix[i] - интеграл от xs[0] до xs[i]
+    private final double[] prefix;
+
+    public TabulatedIntegral(TabulatedFunction function) {
+        PointArrays points = PointArrays.of(function);
+        xs = points.getXValues();
+        ys = points.getYValues();
+        int pointsCount = points.size();
+
+        prefix = new double[pointsCount];
+        for (int i = 1; i < pointsCount; i++) {
+            prefix[i] = prefix[i - 1] + (xs[i] - xs[i - 1]) * (ys[i - 1] + ys[i]) * 0.5;
+        }
+    }
+
+    public double getLeftDomainBorder() {
+        return xs[0];
+    }
+
+    public double getRightDomainBorder() {
+        return xs[xs.length - 1];
+    }
+
+    // Интеграл по всей области определения
+    public double getTotal() {
+        return prefix[prefix.length - 1];
+    }
+
+    // Интеграл от a до b (при a > b - со знаком минус). Отрезок должен лежать в области определения
+    public double integrate(double a, double b) {
+        if (a > b) {
+            return -integrate(b, a);
+        }
+        if (a < xs[0] || b > xs[xs.length - 1]) {
+            throw new IllegalArgumentException("Отрезок интегрирования [" + a + ", " + b + "] " +
+                    "выходит за область определения функции [" + xs[0] + ", " + xs[xs.length - 1] + "]");
+        }
+        return fromLeft(b) - fromLeft(a);
+    }
+
+    // Интеграл от левой границы до x
+    private double fromLeft(double x) {
+        int i = intervalIndex(x);
+        double y = interpolate(i, x);
+        return prefix[i] + (x - xs[i]) * (ys[i] + y) * 0.5;
+    }
+
+    // Индекс левого узла интервала, содержащего x (для правой границы - предпоследний узел)
+    private int intervalIndex(double x) {
+        int index = Arrays.binarySearch(xs, x);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return Math.min(index, xs.length - 2);
+    }
+
+    private double interpolate(int i, double x) {
+        return ys[i] + (ys[i + 1] - ys[i]) * (x - xs[i]) / (xs[i + 1] - xs[i]);
+    }
+}
@@ -0,0 +1,252 @@
+package functions.meta;
+
+import functions.Function;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+// Функция, запоминающая вычисленные значения исходной функции.
+//
+// Значения хранятся в ограниченной таблице с открытой адресацией по битам double
+// (без упаковки в Double), разбитой на независимые сегменты со своими блокировками,
+// поэтому функцию можно вызывать из нескольких потоков. При заполнении сегмента
+// вытесняется запись, выбранная алгоритмом CLOCK ("второй шанс").
+// Если задан шаг квантования, аргумент округляется до ближайшего кратного шагу,
+// и функция вычисляется в округленной точке - так близкие аргументы попадают в одну запись.
+public class Cached implements Function {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Function f;
+    private final int capacity;
+    private final double quantum;
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final int segmentBits;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public Cached(Function f, int capacity) {
+        this(f, capacity, 0);
+    }
+
+    public Cached(Function f, int capacity, double quantum) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Размер кэша " + capacity + " < 1");
+        }
+        if (!(quantum >= 0) || Double.isInfinite(quantum)) {
+            throw new IllegalArgumentException("Шаг квантования " + quantum + " должен быть конечным и неотрицательным");
+        }
+        this.f = f;
+        this.capacity = capacity;
+        this.quantum = quantum;
+
+        // Число сегментов - степень двойки, не больше размера кэша
+        int count = 1;
+        while (count < MAX_SEGMENTS && count * 2 <= capacity) {
+            count *= 2;
+        }
+        segments = new Segment[count];
+        segmentMask = count - 1;
+        segmentBits = Integer.numberOfTrailingZeros(count);
+
+        int segmentCapacity = (capacity + count - 1) / count;
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(segmentCapacity, segmentBits);
+        }
+    }
+
+    // Перемешивание битов ключа: младшие биты выбирают сегмент, старшие - ячейку в нем
+    private static int hash(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return f.getLeftDomainBorder();
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return f.getRightDomainBorder();
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (quantum > 0) {
+            x = Math.rint(x / quantum) * quantum;
+        }
+
+        long key = Double.doubleToLongBits(x);
+        Segment segment = segments[hash(key) & segmentMask];
+
+        synchronized (segment) {
+            int slot = segment.find(key);
+            if (slot >= 0) {
+                segment.referenced[slot] = true;
+                hits.increment();
+                return segment.values[slot];
+            }
+        }
+
+        // Вычисление вне блокировки, чтобы медленная функция не задерживала другие потоки
+        misses.increment();
+        double value = f.getFunctionValue(x);
+
+        synchronized (segment) {
+            if (segment.put(key, value)) {
+                evictions.increment();
+            }
+        }
+        return value;
+    }
+
+    // Удаляет все запомненные значения (счетчики сохраняются)
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public Function getF() {
+        return f;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public double getQuantum() {
+        return quantum;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    // Сегмент кэша: таблица с линейным пробированием и стрелкой CLOCK
+    private static final class Segment {
+        private final int capacity;
+        private final int shift;
+        private final int mask;
+        private final long[] keys;
+        private final double[] values;
+        private final boolean[] occupied;
+        private final boolean[] referenced;
+        private int size;
+        private int hand;
+
+        Segment(int capacity, int shift) {
+            this.capacity = capacity;
+            this.shift = shift;
+            // Таблица заполнена не более чем наполовину
+            int length = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+            mask = length - 1;
+            keys = new long[length];
+            values = new double[length];
+            occupied = new boolean[length];
+            referenced = new boolean[length];
+        }
+
+        // Исходная ячейка ключа
+        private int home(long key) {
+            return (hash(key) >>> shift) & mask;
+        }
+
+        int find(long key) {
+            for (int i = home(key); occupied[i]; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Добавляет значение; возвращает true, если для этого пришлось вытеснить запись
+        boolean put(long key, double value) {
+            int slot = find(key);
+            if (slot >= 0) {
+                values[slot] = value;
+                return false;
+            }
+
+            boolean evicted = false;
+            if (size == capacity) {
+                evict();
+                evicted = true;
+            }
+
+            int i = home(key);
+            while (occupied[i]) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            occupied[i] = true;
+            referenced[i] = false;
+            size++;
+            return evicted;
+        }
+
+        // CLOCK: обходим записи, снимая признак обращения, и вытесняем первую без него
+        private void evict() {
+            while (true) {
+                hand = (hand + 1) & mask;
+                if (!occupied[hand]) {
+                    continue;
+                }
+                if (referenced[hand]) {
+                    referenced[hand] = false;
+                } else {
+                    remove(hand);
+                    return;
+                }
+            }
+        }
+
+        // Удаление со сдвигом последующих записей цепочки, чтобы поиск не обрывался на пустой ячейке
+        private void remove(int slot) {
+            occupied[slot] = false;
+            size--;
+
+            int i = slot;
+            int j = slot;
+            while (true) {
+                j = (j + 1) & mask;
+                if (!occupied[j]) {
+                    return;
+                }
+                int k = home(keys[j]);
+                // Запись остается на месте, если ее исходная ячейка циклически лежит в (i, j]
+                boolean stays = i <= j ? (i < k && k <= j) : (i < k || k <= j);
+                if (!stays) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    referenced[i] = referenced[j];
+                    occupied[i] = true;
+                    occupied[j] = false;
+                    i = j;
+                }
+            }
+        }
+
+        void clear() {
+            Arrays.fill(occupied, false);
+            Arrays.fill(referenced, false);
+            size = 0;
+        }
+    }
+}
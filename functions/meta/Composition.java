@@ -25,4 +25,19 @@ public class Composition implements Function {
     public double getFunctionValue(double x) {
         return f2.getFunctionValue(f1.getFunctionValue(x));
     }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        // Значения внутренней функции сразу становятся аргументами внешней
+        f1.getFunctionValues(xs, values);
+        f2.getFunctionValues(values, values);
+    }
+
+    public Function getF1() {
+        return f1;
+    }
+
+    public Function getF2() {
+        return f2;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package functions.meta;
 
+import functions.ArrayMath;
 import functions.Function;
 
 public class Mult implements Function {
@@ -25,4 +26,21 @@ public class Mult implements Function {
     public double getFunctionValue(double x) {
         return f1.getFunctionValue(x) * f2.getFunctionValue(x);
     }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        // Сначала вторая функция во временный массив, т.к. values может совпадать с xs
+        double[] second = new double[xs.length];
+        f2.getFunctionValues(xs, second);
+        f1.getFunctionValues(xs, values);
+        ArrayMath.multiply(values, second, values, xs.length);
+    }
+
+    public Function getF1() {
+        return f1;
+    }
+
+    public Function getF2() {
+        return f2;
+    }
 }
\ No newline at end of file
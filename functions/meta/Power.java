@@ -1,5 +1,6 @@
 package functions.meta;
 
+import functions.ArrayMath;
 import functions.Function;
 
 public class Power implements Function {
@@ -25,4 +26,27 @@ public class Power implements Function {
     public double getFunctionValue(double x) {
         return Math.pow(f.getFunctionValue(x), power);
     }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        f.getFunctionValues(xs, values);
+        // Пакет должен совпадать с getFunctionValue, поэтому умножения вместо Math.pow
+        // используются только для показателей 0, 1 и 2, где результаты одинаковы в каждом разряде
+        // (уже 1 / v при показателе -1 иногда отличается от Math.pow на 1 ulp)
+        if (power == 0 || power == 1 || power == 2) {
+            ArrayMath.power(values, (int) power, values, xs.length);
+            return;
+        }
+        for (int i = 0; i < xs.length; i++) {
+            values[i] = Math.pow(values[i], power);
+        }
+    }
+
+    public Function getF() {
+        return f;
+    }
+
+    public double getPower() {
+        return power;
+    }
 }
\ No newline at end of file
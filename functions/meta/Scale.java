@@ -1,5 +1,6 @@
 package functions.meta;
 
+import functions.ArrayMath;
 import functions.Function;
 
 public class Scale implements Function {
@@ -35,4 +36,24 @@ public class Scale implements Function {
     public double getFunctionValue(double x) {
         return f.getFunctionValue(x / scaleX) * scaleY;
     }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        // Аргументы внутренней функции записываем прямо в values
+        ArrayMath.divide(xs, scaleX, values, xs.length);
+        f.getFunctionValues(values, values);
+        ArrayMath.multiply(values, scaleY, values, xs.length);
+    }
+
+    public Function getF() {
+        return f;
+    }
+
+    public double getScaleX() {
+        return scaleX;
+    }
+
+    public double getScaleY() {
+        return scaleY;
+    }
 }
\ No newline at end of file
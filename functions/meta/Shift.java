@@ -1,5 +1,6 @@
 package functions.meta;
 
+import functions.ArrayMath;
 import functions.Function;
 
 public class Shift implements Function {
@@ -27,4 +28,24 @@ public class Shift implements Function {
     public double getFunctionValue(double x) {
         return f.getFunctionValue(x - shiftX) + shiftY;
     }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values) {
+        // Аргументы внутренней функции записываем прямо в values
+        ArrayMath.add(xs, -shiftX, values, xs.length);
+        f.getFunctionValues(values, values);
+        ArrayMath.add(values, shiftY, values, xs.length);
+    }
+
+    public Function getF() {
+        return f;
+    }
+
+    public double getShiftX() {
+        return shiftX;
+    }
+
+    public double getShiftY() {
+        return shiftY;
+    }
 }
\ No newline at end of file
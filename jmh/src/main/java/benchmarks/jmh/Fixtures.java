@@ -0,0 +1,93 @@
+package benchmarks.jmh;
+
+import functions.*;
+import functions.basic.*;
+
+import java.util.Random;
+
+// Исходные данные замеров: табулированные функции, аргументы и цепочки functions.meta
+final class Fixtures {
+
+    // Количество аргументов в наборе (степень двойки, чтобы номер брался маской)
+    static final int ARGUMENTS = 1 << 16;
+    static final int ARGUMENTS_MASK = ARGUMENTS - 1;
+
+    private Fixtures() {
+    }
+
+    // Функция sin(0.01 x) в точках 0, 1, ..., size - 1
+    static TabulatedFunction create(String implementation, int size) {
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = Math.sin(i * 0.01);
+        }
+        switch (implementation) {
+            case "array":
+                return new ArrayTabulatedFunction(0, size - 1, values);
+            case "linked":
+                return new LinkedListTabulatedFunction(0, size - 1, values);
+            default:
+                throw new IllegalArgumentException("Неизвестная реализация " + implementation);
+        }
+    }
+
+    // Аргументы из [leftX; rightX]: по возрастанию с равным шагом или в случайном порядке
+    static double[] arguments(String pattern, double leftX, double rightX, long seed) {
+        double[] xs = new double[ARGUMENTS];
+        switch (pattern) {
+            case "sequential":
+                for (int i = 0; i < xs.length; i++) {
+                    xs[i] = leftX + (rightX - leftX) * i / ARGUMENTS;
+                }
+                return xs;
+            case "random":
+                Random random = new Random(seed);
+                for (int i = 0; i < xs.length; i++) {
+                    xs[i] = leftX + (rightX - leftX) * random.nextDouble();
+                }
+                return xs;
+            default:
+                throw new IllegalArgumentException("Неизвестный порядок доступа " + pattern);
+        }
+    }
+
+    // Различные середины интервалов сетки 0, 1, ..., size - 1 в случайном порядке
+    static double[] randomMidpoints(int size, int count, long seed) {
+        int[] indices = new int[size - 1];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        Random random = new Random(seed);
+        double[] xs = new double[count];
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(indices.length - i);
+            int t = indices[i];
+            indices[i] = indices[j];
+            indices[j] = t;
+            xs[i] = indices[i] + 0.5;
+        }
+        return xs;
+    }
+
+    // Цепочка functions.meta глубины depth: сдвиги, масштабы, суммы и композиции с sin
+    static Function metaChain(int depth) {
+        Function f = new Sin();
+        for (int k = 0; k < depth; k++) {
+            switch (k % 4) {
+                case 0:
+                    f = Functions.shift(f, 0.1, 0.05);
+                    break;
+                case 1:
+                    f = Functions.scale(f, 1.01, 0.99);
+                    break;
+                case 2:
+                    f = Functions.sum(f, new Cos());
+                    break;
+                default:
+                    f = Functions.composition(f, new Sin());
+                    break;
+            }
+        }
+        return f;
+    }
+}
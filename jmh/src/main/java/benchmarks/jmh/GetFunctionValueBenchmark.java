@@ -0,0 +1,41 @@
+package benchmarks.jmh;
+
+import functions.TabulatedFunction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Вычисление значения табулированной функции в точке: аргументы по возрастанию
+// (соседние обращения попадают в один или соседние интервалы) или в случайном порядке
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class GetFunctionValueBenchmark {
+
+    @Param({"array", "linked"})
+    public String implementation;
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    @Param({"sequential", "random"})
+    public String pattern;
+
+    private TabulatedFunction function;
+    private double[] xs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        function = Fixtures.create(implementation, size);
+        xs = Fixtures.arguments(pattern, 0, size - 1, size);
+    }
+
+    @Benchmark
+    public double getFunctionValue() {
+        return function.getFunctionValue(xs[next++ & Fixtures.ARGUMENTS_MASK]);
+    }
+}
@@ -0,0 +1,40 @@
+package benchmarks.jmh;
+
+import functions.Function;
+import functions.Functions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Значение цепочки функций functions.meta заданной глубины: обход дерева объектов (tree)
+// или программа, построенная Functions.compile (compiled)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class MetaBenchmark {
+
+    @Param({"4", "16", "64"})
+    public int depth;
+
+    @Param({"tree", "compiled"})
+    public String variant;
+
+    private Function function;
+    private double[] xs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Function tree = Fixtures.metaChain(depth);
+        function = variant.equals("compiled") ? Functions.compile(tree) : tree;
+        xs = Fixtures.arguments("random", -3, 3, 7);
+    }
+
+    @Benchmark
+    public double getFunctionValue() {
+        return function.getFunctionValue(xs[next++ & Fixtures.ARGUMENTS_MASK]);
+    }
+}
@@ -0,0 +1,107 @@
+package benchmarks.jmh;
+
+import functions.FunctionPoint;
+import functions.TabulatedFunction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Добавление и удаление точек: в конце списка (sequential) или в случайных местах (random).
+// За один вызов выполняется серия из MUTATIONS операций, после нее функция возвращается
+// в исходное состояние (обратными операциями, не входящими в замер)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class MutationBenchmark {
+
+    // Операций в серии; не больше size - 3 для наименьшего размера
+    private static final int MUTATIONS = 64;
+
+    @Param({"array", "linked"})
+    public String implementation;
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    @Param({"sequential", "random"})
+    public String pattern;
+
+    private TabulatedFunction function;
+
+    // Добавляемые точки и индексы, по которым их затем удалять (по убыванию)
+    private FunctionPoint[] additions;
+    private int[] additionIndices;
+
+    // Индексы удаляемых точек и сами удаленные точки для восстановления
+    private int[] deletionIndices;
+    private FunctionPoint[] deletions;
+
+    @Setup
+    public void setUp() {
+        function = Fixtures.create(implementation, size);
+        boolean random = pattern.equals("random");
+
+        double[] xs = random
+                ? Fixtures.randomMidpoints(size, MUTATIONS, size + 1)
+                : new double[MUTATIONS];
+        additions = new FunctionPoint[MUTATIONS];
+        for (int i = 0; i < MUTATIONS; i++) {
+            if (!random) {
+                xs[i] = size + i;
+            }
+            additions[i] = new FunctionPoint(xs[i], i);
+        }
+        // Середина k + 0.5 после всех добавлений оказывается на месте k + 1 плюс число
+        // меньших середин; удаление с конца не сдвигает еще не удаленные точки
+        double[] sorted = xs.clone();
+        Arrays.sort(sorted);
+        additionIndices = new int[MUTATIONS];
+        for (int j = 0; j < MUTATIONS; j++) {
+            additionIndices[MUTATIONS - 1 - j] = random ? (int) sorted[j] + 1 + j : size + j;
+        }
+
+        Random indices = new Random(size);
+        deletionIndices = new int[MUTATIONS];
+        deletions = new FunctionPoint[MUTATIONS];
+        TabulatedFunction copy = (TabulatedFunction) function.clone();
+        for (int i = 0; i < MUTATIONS; i++) {
+            deletionIndices[i] = random ? indices.nextInt(size - i) : size - 1 - i;
+            deletions[i] = copy.getPoint(deletionIndices[i]);
+            copy.deletePoint(deletionIndices[i]);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void restore() throws Exception {
+        if (function.getPointsCount() > size) {
+            for (int index : additionIndices) {
+                function.deletePoint(index);
+            }
+        } else if (function.getPointsCount() < size) {
+            for (FunctionPoint point : deletions) {
+                function.addPoint(point);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MUTATIONS)
+    public void addPoint() throws Exception {
+        for (FunctionPoint point : additions) {
+            function.addPoint(point);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MUTATIONS)
+    public void deletePoint() {
+        for (int index : deletionIndices) {
+            function.deletePoint(index);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package benchmarks.jmh;
+
+import functions.TabulatedFunction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Методы Object табулированных функций: глубокое клонирование, сравнение с равной копией и хэш-код
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class ObjectMethodsBenchmark {
+
+    @Param({"array", "linked"})
+    public String implementation;
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private TabulatedFunction function;
+    private TabulatedFunction copy;
+
+    @Setup
+    public void setUp() {
+        function = Fixtures.create(implementation, size);
+        copy = (TabulatedFunction) function.clone();
+    }
+
+    @Benchmark
+    public Object cloneFunction() {
+        return function.clone();
+    }
+
+    @Benchmark
+    public boolean equalsCopy() {
+        return function.equals(copy);
+    }
+
+    @Benchmark
+    public int hashCodeFunction() {
+        return function.hashCode();
+    }
+}
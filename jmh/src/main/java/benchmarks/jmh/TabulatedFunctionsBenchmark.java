@@ -0,0 +1,77 @@
+package benchmarks.jmh;
+
+import functions.Function;
+import functions.TabulatedFunction;
+import functions.TabulatedFunctions;
+import functions.basic.Sin;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+// Табулирование и ввод-вывод табулированной функции (класс TabulatedFunctions):
+// текстовый формат через Writer/Reader и двоичный через потоки байтов в памяти
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class TabulatedFunctionsBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private final Function sin = new Sin();
+    private TabulatedFunction function;
+    private CharArrayWriter textOut;
+    private String text;
+    private ByteArrayOutputStream binaryOut;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        function = Fixtures.create("array", size);
+
+        textOut = new CharArrayWriter();
+        TabulatedFunctions.writeTabulatedFunction(function, textOut);
+        text = textOut.toString();
+
+        binaryOut = new ByteArrayOutputStream();
+        TabulatedFunctions.outputTabulatedFunction(function, binaryOut);
+        bytes = binaryOut.toByteArray();
+    }
+
+    @Benchmark
+    public TabulatedFunction tabulate() {
+        return TabulatedFunctions.tabulate(sin, 0, 10, size);
+    }
+
+    @Benchmark
+    public int writeTabulatedFunction() throws IOException {
+        textOut.reset();
+        TabulatedFunctions.writeTabulatedFunction(function, textOut);
+        return textOut.size();
+    }
+
+    @Benchmark
+    public TabulatedFunction readTabulatedFunction() throws IOException {
+        return TabulatedFunctions.readTabulatedFunction(new StringReader(text));
+    }
+
+    @Benchmark
+    public int outputTabulatedFunction() throws IOException {
+        binaryOut.reset();
+        TabulatedFunctions.outputTabulatedFunction(function, binaryOut);
+        return binaryOut.size();
+    }
+
+    @Benchmark
+    public TabulatedFunction inputTabulatedFunction() throws IOException {
+        return TabulatedFunctions.inputTabulatedFunction(new ByteArrayInputStream(bytes));
+    }
+}
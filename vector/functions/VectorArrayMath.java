@@ -0,0 +1,144 @@
+package functions;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Векторная реализация операций ArrayMath (модуль jdk.incubator.vector).
+// Класс загружается ArrayMath через рефлексию и компилируется отдельно от остальных
+// (javac --add-modules jdk.incubator.vector -cp <классы functions> vector/...). Каждая операция над элементами та же,
+// что в скалярном цикле ArrayMath (без слияния в fma), поэтому результаты совпадают.
+final class VectorArrayMath implements ArrayMath.Kernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final double EPSILON = 1e-10;
+
+    @Override
+    public int length() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public void add(double[] a, double[] b, double[] result, int length) {
+        int i = 0;
+        for (int upper = SPECIES.loopBound(length); i < upper; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).add(DoubleVector.fromArray(SPECIES, b, i)).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = a[i] + b[i];
+        }
+    }
+
+    @Override
+    public void add(double[] a, double c, double[] result, int length) {
+        int i = 0;
+        for (int upper = SPECIES.loopBound(length); i < upper; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).add(c).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = a[i] + c;
+        }
+    }
+
+    @Override
+    public void multiply(double[] a, double[] b, double[] result, int length) {
+        int i = 0;
+        for (int upper = SPECIES.loopBound(length); i < upper; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).mul(DoubleVector.fromArray(SPECIES, b, i)).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = a[i] * b[i];
+        }
+    }
+
+    @Override
+    public void multiply(double[] a, double c, double[] result, int length) {
+        int i = 0;
+        for (int upper = SPECIES.loopBound(length); i < upper; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).mul(c).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = a[i] * c;
+        }
+    }
+
+    @Override
+    public void divide(double[] a, double c, double[] result, int length) {
+        int i = 0;
+        for (int upper = SPECIES.loopBound(length); i < upper; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).div(c).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = a[i] / c;
+        }
+    }
+
+    @Override
+    public void power(double[] a, int n, double[] result, int length) {
+        long m = Math.abs((long) n);
+        int i = 0;
+        for (int upper = SPECIES.loopBound(length); i < upper; i += SPECIES.length()) {
+            DoubleVector r = DoubleVector.broadcast(SPECIES, 1);
+            DoubleVector b = DoubleVector.fromArray(SPECIES, a, i);
+            for (long k = m; k != 0; ) {
+                if ((k & 1) != 0) {
+                    r = r.mul(b);
+                }
+                k >>>= 1;
+                if (k != 0) {
+                    b = b.mul(b);
+                }
+            }
+            if (n < 0) {
+                r = DoubleVector.broadcast(SPECIES, 1).div(r);
+            }
+            r.intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            double r = 1;
+            double b = a[i];
+            for (long k = m; k != 0; ) {
+                if ((k & 1) != 0) {
+                    r *= b;
+                }
+                k >>>= 1;
+                if (k != 0) {
+                    b *= b;
+                }
+            }
+            result[i] = n < 0 ? 1 / r : r;
+        }
+    }
+
+    @Override
+    public void interpolateLinear(double[] xs, double[] x1, double[] y1, double[] x2, double[] y2,
+                                  double[] result, int length) {
+        int i = 0;
+        for (int upper = SPECIES.loopBound(length); i < upper; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i);
+            DoubleVector left = DoubleVector.fromArray(SPECIES, x1, i);
+            DoubleVector right = DoubleVector.fromArray(SPECIES, x2, i);
+            DoubleVector low = DoubleVector.fromArray(SPECIES, y1, i);
+            DoubleVector high = DoubleVector.fromArray(SPECIES, y2, i);
+
+            DoubleVector dx = x.sub(left);
+            DoubleVector value = low.add(high.sub(low).mul(dx).div(right.sub(left)));
+
+            // Совпадение с узлом: левый узел имеет приоритет, как в скалярном цикле
+            VectorMask<Double> atRight = x.sub(right).abs().compare(VectorOperators.LT, EPSILON);
+            VectorMask<Double> atLeft = dx.abs().compare(VectorOperators.LT, EPSILON);
+            value.blend(high, atRight).blend(low, atLeft).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            double x = xs[i];
+            if (Math.abs(x - x1[i]) < EPSILON) {
+                result[i] = y1[i];
+            } else if (Math.abs(x - x2[i]) < EPSILON) {
+                result[i] = y2[i];
+            } else {
+                result[i] = y1[i] + (y2[i] - y1[i]) * (x - x1[i]) / (x2[i] - x1[i]);
+            }
+        }
+    }
+}
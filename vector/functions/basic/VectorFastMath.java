@@ -0,0 +1,119 @@
+package functions.basic;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Векторная реализация пакетных exp и sinCos из FastMath (модуль jdk.incubator.vector).
+// Сведение аргумента, выборка из таблиц (gather) и многочлены повторяют скалярные формулы
+// FastMath операция в операцию, поэтому результаты совпадают бит в бит. Векторы, в которых
+// есть элементы, требующие особой обработки (нули, большие аргументы, NaN), вычисляются скалярно.
+final class VectorFastMath implements FastMath.BatchKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    // Целочисленный вектор с тем же числом элементов для перевода номеров узлов в массив индексов
+    // (выбирается из готовых констант, иначе JIT не может заменить операции командами)
+    private static final VectorSpecies<Integer> INDEX_SPECIES = SPECIES.length() == 8 ? IntVector.SPECIES_256
+            : SPECIES.length() == 4 ? IntVector.SPECIES_128 : IntVector.SPECIES_64;
+
+    @Override
+    public void sinCos(double[] xs, double[] sines, double[] cosines) {
+        int[] index = new int[INDEX_SPECIES.length()];
+        SinCos pair = new SinCos();
+        int i = 0;
+        for (int upper = SPECIES.loopBound(xs.length); i < upper; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i);
+            if (!isTrigRegular(x)) {
+                for (int k = i; k < i + SPECIES.length(); k++) {
+                    FastMath.sinCos(xs[k], pair);
+                    sines[k] = pair.sin;
+                    cosines[k] = pair.cos;
+                }
+                continue;
+            }
+            DoubleVector shifted = x.mul(FastMath.INV_STEP).add(FastMath.ROUND_SHIFT);
+            DoubleVector r = trigRemainder(x, shifted.sub(FastMath.ROUND_SHIFT));
+            tableIndex(shifted, 63, index);
+            DoubleVector s = DoubleVector.fromArray(SPECIES, FastMath.SIN_TABLE, 0, index, 0);
+            DoubleVector c = DoubleVector.fromArray(SPECIES, FastMath.COS_TABLE, 0, index, 0);
+            DoubleVector r2 = r.mul(r);
+            DoubleVector sr = sinPoly(r, r2);
+            DoubleVector cm1 = cosm1Poly(r2);
+            s.add(s.mul(cm1).add(c.mul(sr))).intoArray(sines, i);
+            c.add(c.mul(cm1).sub(s.mul(sr))).intoArray(cosines, i);
+        }
+        for (; i < xs.length; i++) {
+            FastMath.sinCos(xs[i], pair);
+            sines[i] = pair.sin;
+            cosines[i] = pair.cos;
+        }
+    }
+
+    @Override
+    public void exp(double[] xs, double[] values) {
+        int[] index = new int[INDEX_SPECIES.length()];
+        int i = 0;
+        for (int upper = SPECIES.loopBound(xs.length); i < upper; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i);
+            if (!(x.abs().reduceLanes(VectorOperators.MAX) < FastMath.EXP_LIMIT)) {
+                for (int k = i; k < i + SPECIES.length(); k++) {
+                    values[k] = FastMath.exp(xs[k]);
+                }
+                continue;
+            }
+            DoubleVector shifted = x.mul(FastMath.INV_LN2_64).add(FastMath.ROUND_SHIFT);
+            DoubleVector n = shifted.sub(FastMath.ROUND_SHIFT);
+            DoubleVector r = x.sub(n.mul(FastMath.LN2_64_HI)).sub(n.mul(FastMath.LN2_64_LO));
+            tableIndex(shifted, 63, index);
+            DoubleVector t = DoubleVector.fromArray(SPECIES, FastMath.EXP_TABLE, 0, index, 0);
+            DoubleVector p = r.add(r.mul(r).mul(r.mul(1.0 / 720).add(1.0 / 120).mul(r).add(1.0 / 24)
+                    .mul(r).add(1.0 / 6).mul(r).add(0.5)));
+            // 2^(k >> 6), где k - младшие 32 бита shifted со знаком
+            DoubleVector scale = shifted.reinterpretAsLongs()
+                    .lanewise(VectorOperators.LSHL, 32)
+                    .lanewise(VectorOperators.ASHR, 38)
+                    .add(1023)
+                    .lanewise(VectorOperators.LSHL, 52)
+                    .reinterpretAsDoubles();
+            t.add(t.mul(p)).mul(scale).intoArray(values, i);
+        }
+        for (; i < xs.length; i++) {
+            values[i] = FastMath.exp(xs[i]);
+        }
+    }
+
+    // Младшие биты мантиссы shifted (номер узла таблицы) в массив индексов для выборки
+    private static void tableIndex(DoubleVector shifted, int mask, int[] index) {
+        LongVector bits = shifted.reinterpretAsLongs().and((long) mask);
+        ((IntVector) bits.convertShape(VectorOperators.L2I, INDEX_SPECIES, 0)).intoArray(index, 0);
+    }
+
+    private static DoubleVector trigRemainder(DoubleVector x, DoubleVector j) {
+        return x.sub(j.mul(FastMath.STEP_1)).sub(j.mul(FastMath.STEP_2))
+                .sub(j.mul(FastMath.STEP_3)).sub(j.mul(FastMath.STEP_3T));
+    }
+
+    // Все элементы ненулевые и лежат в [-TRIG_LIMIT; TRIG_LIMIT] (NaN не проходит сравнения)
+    private static boolean isTrigRegular(DoubleVector x) {
+        DoubleVector abs = x.abs();
+        return abs.reduceLanes(VectorOperators.MIN) > 0
+                && abs.reduceLanes(VectorOperators.MAX) <= FastMath.TRIG_LIMIT;
+    }
+
+    // r + r * r2 * (-1/6 + r2 * (1/120 + r2 * (-1/5040 + r2 / 362880)))
+    private static DoubleVector sinPoly(DoubleVector r, DoubleVector r2) {
+        DoubleVector poly = r2.mul(1.0 / 362880).add(-1.0 / 5040)
+                .mul(r2).add(1.0 / 120)
+                .mul(r2).add(-1.0 / 6);
+        return r.add(r.mul(r2).mul(poly));
+    }
+
+    // r2 * (-1/2 + r2 * (1/24 + r2 * (-1/720 + r2 / 40320)))
+    private static DoubleVector cosm1Poly(DoubleVector r2) {
+        return r2.mul(r2.mul(1.0 / 40320).add(-1.0 / 720)
+                .mul(r2).add(1.0 / 24)
+                .mul(r2).add(-0.5));
+    }
+}